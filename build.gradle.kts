@@ -1,5 +1,6 @@
 plugins {
     java
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 java {
@@ -15,6 +16,17 @@ tasks.test {
     useJUnitPlatform()
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(
+        providers.gradleProperty("jmhResults")
+            .map { layout.projectDirectory.file(it) }
+            .orElse(layout.buildDirectory.file("results/jmh/results.json"))
+    )
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+}
+
 repositories {
     mavenCentral()
 }
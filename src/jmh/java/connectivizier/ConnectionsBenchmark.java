@@ -0,0 +1,44 @@
+package connectivizier;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enumerating guesses, after {@link #found} groups have been found.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectionsBenchmark {
+
+    @Param({"0", "1", "2"})
+    public int found;
+
+    private Connections connections;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var connections = Connections.create(
+            """
+                DIRECT DRIVE GUIDE PILOT
+                DOC MID TIFF ZIP
+                COAT FILM LEAF SHEET
+                AIR ELECTRIC RHYTHM SLIDE
+                """
+        );
+        for (int group = 0; group < found; group++) {
+            var guess = new Guess(connections.words().subList(group * 4, group * 4 + 4));
+            connections = connections.add(guess, new Attempt.Correct(guess));
+        }
+        this.connections = connections;
+    }
+
+    @Benchmark
+    public long guesses() {
+        return connections.guesses().count();
+    }
+}
@@ -0,0 +1,34 @@
+package wordlewrangler;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstraintsBenchmark {
+
+    @Param({"SLATE:UUPUF", "FATAL:UPUUP", "GOOBR:FUUUP", "ABCDE:UUUUU"})
+    public String attempt;
+
+    private Word guess;
+
+    private String spec;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var split = attempt.split(":");
+        guess = new Word(split[0]);
+        spec = split[1];
+    }
+
+    @Benchmark
+    public Set<Constraint> parse() {
+        return Constraints.parse(guess, spec);
+    }
+}
@@ -0,0 +1,83 @@
+package wordlewrangler;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The solver hot paths, on each bundled word list, after {@link #depth} guesses towards a fixed solution.
+ * The {@link SolverCache} is off, so every call computes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-D" + SolverCache.WEIGHT_PROPERTY + "=0")
+public class GameBenchmark {
+
+    @Param({"words-expanded.txt", "words.txt", "wordsish.txt"})
+    public String words;
+
+    @Param({"0", "1", "2", "3"})
+    public int depth;
+
+    private Game secret;
+
+    private Game known;
+
+    private String guess;
+
+    private String spec;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var game = new Game(Word.fromFile(Path.of(words)));
+        game.dictionary().matrix();
+        var solution = game.dictionary().get(game.dictionary().size() / 2);
+        var secret = game;
+        var known = game.set(solution);
+        var next = new Word("SLATE");
+        for (int i = 0; i < depth && !known.done(); i++) {
+            secret = secret.tried(next.toString(), Feedback.spec(Feedback.pattern(next, solution)));
+            known = known.tryWord(next);
+            next = secret.hottestCandidates().getFirst().word();
+        }
+        this.secret = secret;
+        this.known = known;
+        this.guess = next.toString();
+        this.spec = Feedback.spec(Feedback.pattern(next, solution));
+    }
+
+    @Benchmark
+    public List<WordElim> hotCandidatesDescendingSecret() {
+        return secret.hotCandidatesDescending();
+    }
+
+    @Benchmark
+    public List<WordElim> hotCandidatesDescendingKnown() {
+        return known.hotCandidatesDescending();
+    }
+
+    @Benchmark
+    public List<WordElim> hottestCandidatesSecret() {
+        return secret.hottestCandidates();
+    }
+
+    @Benchmark
+    public List<WordElim> topCandidatesSecret() {
+        return secret.topCandidates(10);
+    }
+
+    @Benchmark
+    public Game tried() {
+        return secret.tried(guess, spec);
+    }
+
+    @Benchmark
+    public LetterDistributions distribution() {
+        return secret.distribution();
+    }
+}
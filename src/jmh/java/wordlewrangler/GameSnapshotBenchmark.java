@@ -0,0 +1,55 @@
+package wordlewrangler;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and restoring a {@link GameSnapshot} of a secret game two guesses in, as a session store would for
+ * every request.  The buffer is reused, so only restoring allocates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-D" + SolverCache.WEIGHT_PROPERTY + "=0")
+public class GameSnapshotBenchmark {
+
+    @Param({"words.txt", "wordsish.txt"})
+    public String words;
+
+    @Param({"true", "false"})
+    public boolean candidates;
+
+    private Game game;
+
+    private ByteBuffer buffer;
+
+    private ByteBuffer snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var game = new Game(Word.fromFile(Path.of(words)));
+        var solution = game.dictionary().get(game.dictionary().size() / 2);
+        for (Word guess : new Word[] {new Word("SLATE"), new Word("CRONY")}) {
+            game = game.tried(guess, Feedback.pattern(guess, solution));
+        }
+        this.game = game;
+        buffer = ByteBuffer.allocate(GameSnapshot.size(game, candidates));
+        snapshot = ByteBuffer.wrap(game.snapshot(candidates));
+    }
+
+    @Benchmark
+    public ByteBuffer write() {
+        GameSnapshot.write(game, candidates, buffer.clear());
+        return buffer;
+    }
+
+    @Benchmark
+    public Game read() {
+        return GameSnapshot.read(snapshot.clear());
+    }
+}
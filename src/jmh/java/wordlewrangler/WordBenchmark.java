@@ -0,0 +1,47 @@
+package wordlewrangler;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordBenchmark {
+
+    @Param({"words-expanded.txt", "words.txt", "wordsish.txt", "past.txt"})
+    public String words;
+
+    private Path path;
+
+    private Path binary;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        path = Path.of(words);
+        binary = Files.createTempFile("words", ".bin");
+        Word.toBinary(path, binary);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binary);
+    }
+
+    @Benchmark
+    public List<Word> fromFile() {
+        return Word.fromFile(path);
+    }
+
+    @Benchmark
+    public List<Word> fromBinary() {
+        return Word.fromBinary(binary);
+    }
+}
@@ -91,11 +91,15 @@ public record Connections(List<Word> words, List<Attempt> attempts) {
 
     public Stream<Guess> guesses() {
         var unguessed = unguessed();
-        return unguessed.stream().flatMap(word ->
-            guesses(
-                copyAndAdd(emptySet(), word),
-                copyAndRemove(unguessed, word)
-            ));
+        return GuessesEvent.recorded(
+            unguessed.stream().flatMap(word ->
+                guesses(
+                    copyAndAdd(emptySet(), word),
+                    copyAndRemove(unguessed, word)
+                )),
+            unguessed.size(),
+            attempts.size()
+        );
     }
 
     private Collection<Word> unguessed() {
@@ -0,0 +1,165 @@
+package connectivizier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Flight recorder event for {@link Connections#guesses()}, from the stream's creation until the guesses run
+ * out, or until the stream is closed if it is not run to the end.
+ */
+@Name("connectivizier.Guesses")
+@Label("Connections Guesses")
+@Description("Guesses enumerated for a Connections puzzle")
+@Category("Wordle Wrangler")
+@StackTrace(false)
+final class GuessesEvent extends Event {
+
+    /**
+     * @param guesses  Guesses
+     * @param words    Words not yet found
+     * @param attempts Attempts so far
+     * @return The guesses, counted and recorded as they are consumed if the event is enabled
+     */
+    static Stream<Guess> recorded(Stream<Guess> guesses, int words, int attempts) {
+        var event = new GuessesEvent();
+        if (!event.isEnabled()) {
+            return guesses;
+        }
+        event.begin();
+        event.words = words;
+        event.attempts = attempts;
+        var counting = new Counting(event, guesses.spliterator());
+        return StreamSupport.stream(counting, guesses.isParallel())
+            .onClose(counting.recording::commit)
+            .onClose(guesses::close);
+    }
+
+    @Label("Words")
+    @Description("Words not yet found")
+    int words;
+
+    @Label("Attempts")
+    int attempts;
+
+    @Label("Guesses")
+    long guesses;
+
+    /**
+     * Shared by a spliterator and its splits, commits once: When the last of them runs out, or on close.
+     */
+    private static final class Recording {
+
+        private final GuessesEvent event;
+
+        private final LongAdder guesses = new LongAdder();
+
+        private final AtomicInteger open = new AtomicInteger(1);
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Recording(GuessesEvent event) {
+            this.event = event;
+        }
+
+        private void commit() {
+            if (done.compareAndSet(false, true)) {
+                event.guesses = guesses.sum();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Passes through the characteristics and size of the guesses, and splits like them.
+     */
+    private static final class Counting implements Spliterator<Guess> {
+
+        private final Recording recording;
+
+        private final Spliterator<Guess> spliterator;
+
+        private boolean done;
+
+        private Counting(GuessesEvent event, Spliterator<Guess> spliterator) {
+            this(new Recording(event), spliterator);
+        }
+
+        private Counting(Recording recording, Spliterator<Guess> spliterator) {
+            this.recording = recording;
+            this.spliterator = spliterator;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Guess> action) {
+            if (spliterator.tryAdvance(action)) {
+                recording.guesses.increment();
+                return true;
+            }
+            ranOut();
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Guess> action) {
+            var count = new long[1];
+            spliterator.forEachRemaining(guess -> {
+                count[0]++;
+                action.accept(guess);
+            });
+            recording.guesses.add(count[0]);
+            ranOut();
+        }
+
+        @Override
+        public Spliterator<Guess> trySplit() {
+            var split = spliterator.trySplit();
+            if (split == null) {
+                return null;
+            }
+            recording.open.incrementAndGet();
+            return new Counting(recording, split);
+        }
+
+        @Override
+        public long estimateSize() {
+            return spliterator.estimateSize();
+        }
+
+        @Override
+        public long getExactSizeIfKnown() {
+            return spliterator.getExactSizeIfKnown();
+        }
+
+        @Override
+        public int characteristics() {
+            return spliterator.characteristics();
+        }
+
+        @Override
+        public Comparator<? super Guess> getComparator() {
+            return spliterator.getComparator();
+        }
+
+        private void ranOut() {
+            if (!done) {
+                done = true;
+                if (recording.open.decrementAndGet() == 0) {
+                    recording.commit();
+                }
+            }
+        }
+    }
+}
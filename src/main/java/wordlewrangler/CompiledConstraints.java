@@ -0,0 +1,167 @@
+package wordlewrangler;
+
+import java.util.Arrays;
+
+/**
+ * A guess's feedback, compiled to the letters allowed at each position and the minimum and maximum
+ * count of each letter.  Checking a packed word is a few shifts and masks per position, plus a count
+ * for each of the few letters with count limits.  A green wins over greys for the same position, and
+ * unlike {@link Constraint.Yellow#eliminates(char[])}, a yellow always requires its letter.
+ */
+final class CompiledConstraints {
+
+    /**
+     * Compiled from the feedback itself, this matches exactly the words that would give the same feedback to
+     * the guess.  A letter with a grey somewhere occurs exactly as many times as it is green or yellow.
+     *
+     * @param guess   Guess
+     * @param pattern Feedback pattern
+     * @return Constraints matching the words that give this feedback
+     */
+    static CompiledConstraints of(Word guess, int pattern) {
+        var length = guess.length();
+        var allowed = new int[length];
+        Arrays.fill(allowed, ALL);
+        var minimum = new int[LETTERS];
+        var exact = 0;
+        var capped = 0;
+        for (int position = 0; position < length; position++) {
+            var letter = guess.code(position);
+            var bit = 1 << letter;
+            switch (Feedback.digit(pattern, position)) {
+                case Feedback.GREEN -> {
+                    allowed[position] = bit;
+                    exact |= 1 << position;
+                    minimum[letter]++;
+                }
+                case Feedback.YELLOW -> {
+                    allowed[position] &= ~bit;
+                    minimum[letter]++;
+                }
+                default -> {
+                    allowed[position] &= ~bit;
+                    capped |= bit;
+                }
+            }
+        }
+        for (int letter = 0; letter < LETTERS; letter++) {
+            if ((capped >>> letter & 1) != 0 && minimum[letter] == 0) {
+                for (int position = 0; position < length; position++) {
+                    if ((exact >>> position & 1) == 0) {
+                        allowed[position] &= ~(1 << letter);
+                    }
+                }
+            }
+        }
+        return new CompiledConstraints(allowed, exact, limits(allowed, exact, minimum, capped));
+    }
+
+    private final int[] allowed;
+
+    private final int exact;
+
+    private final int[] limits;
+
+    private CompiledConstraints(int[] allowed, int exact, int[] limits) {
+        this.allowed = allowed;
+        this.exact = exact;
+        this.limits = limits;
+    }
+
+    boolean matches(Word word) {
+        return matches(word.packed());
+    }
+
+    /**
+     * @param packed Packed word of the same length
+     * @return True if the word matches
+     */
+    boolean matches(long packed) {
+        var misses = 0;
+        for (int position = 0; position < allowed.length; position++) {
+            misses |= ~allowed[position] >>> Feedback.letter(packed, position) & 1;
+        }
+        if (misses != 0) {
+            return false;
+        }
+        for (int i = 0; i < limits.length; i += 3) {
+            var count = count(packed, limits[i], allowed.length);
+            if (count < limits[i + 1] || count > limits[i + 2]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param position Position
+     * @return Bitmask of the letter codes allowed at the position
+     */
+    int allowed(int position) {
+        return allowed[position];
+    }
+
+    /**
+     * @return Bitmask of positions with a known letter
+     */
+    int exact() {
+        return exact;
+    }
+
+    /**
+     * @return Triplets of letter code, minimum and maximum count, for letters whose count is limited beyond
+     * what the positions allow
+     */
+    int[] limits() {
+        return limits;
+    }
+
+    /**
+     * @return Word length
+     */
+    int length() {
+        return allowed.length;
+    }
+
+    private static int count(long packed, int letter, int length) {
+        var count = 0;
+        for (int position = 0; position < length; position++) {
+            count += Feedback.letter(packed, position) == letter ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static int[] limits(int[] allowed, int exact, int[] minimum, int capped) {
+        var limits = new int[LETTERS * 3];
+        var size = 0;
+        for (int letter = 0; letter < LETTERS; letter++) {
+            var fixed = 0;
+            var possible = 0;
+            for (int position = 0; position < allowed.length; position++) {
+                if ((allowed[position] >>> letter & 1) != 0) {
+                    possible++;
+                    if ((exact >>> position & 1) != 0) {
+                        fixed++;
+                    }
+                }
+            }
+            var maximum = (capped >>> letter & 1) != 0 ? minimum[letter] : possible;
+            if (minimum[letter] > fixed || maximum < possible) {
+                limits[size++] = letter;
+                limits[size++] = minimum[letter];
+                limits[size++] = maximum;
+            }
+        }
+        return Arrays.copyOf(limits, size);
+    }
+
+    private static final int LETTERS = Feedback.ALPHABET.length();
+
+    private static final int ALL = -1 >>> Integer.SIZE - LETTERS;
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[exact:" + Integer.toBinaryString(exact) +
+               ", limits:" + Arrays.toString(limits) + "]";
+    }
+}
@@ -127,7 +127,7 @@ public sealed interface Constraint extends Comparable<Constraint> {
             if (constraint instanceof Yellow(var pc, var pos) && pc == c) {
                 return new Yellow(c, Constraint.combine(positions, pos));
             }
-            if (constraint instanceof Grey(var pc, var pos) && pc == c) {
+            if (constraint instanceof Grey(var pc, var pos, var _) && pc == c) {
                 return new Yellow(c, Constraint.combine(positions, pos));
             }
             throw new IllegalStateException(this + " cannot merge with  " + constraint);
@@ -144,19 +144,18 @@ public sealed interface Constraint extends Comparable<Constraint> {
             if (positions.length == 1) {
                 return letters[positions[0]] == c;
             }
-            boolean[] foundPositions = new boolean[5];
             var found = false;
-            for (int i = 0; i < foundPositions.length; i++) {
-                if (letters[i] == c) {
-                    foundPositions[i] = true;
+            for (char letter : letters) {
+                if (letter == c) {
                     found = true;
+                    break;
                 }
             }
             if (!found) {
                 return true;
             }
             for (int position : positions) {
-                if (foundPositions[position]) {
+                if (letters[position] == c) {
                     return true;
                 }
             }
@@ -180,10 +179,25 @@ public sealed interface Constraint extends Comparable<Constraint> {
 
     }
 
-    record Grey(char c, int[] positions) implements Constraint {
+    /**
+     * @param c          Letter
+     * @param positions  Positions the letter is not in
+     * @param everywhere Whether the positions are all of the word's, i.e. the letter is not in the word.  The
+     *                   positions alone can't tell, as they don't know the word length
+     */
+    record Grey(char c, int[] positions, boolean everywhere) implements Constraint {
+
+        /**
+         * @param c      Letter
+         * @param length Word length
+         * @return Grey for the letter in all positions, i.e. not in the word
+         */
+        public static Grey everywhere(char c, int length) {
+            return new Grey(c, Constraints.everywhere(length), true);
+        }
 
-        public Grey(char c) {
-            this(c, Constraints.ALL_POSITIONS);
+        public Grey(char c, int[] positions) {
+            this(c, positions, false);
         }
 
         public Grey(char c, int index) {
@@ -192,14 +206,14 @@ public sealed interface Constraint extends Comparable<Constraint> {
 
         @Override
         public Constraint merge(Constraint constraint) {
-            if (constraint instanceof Grey(var uc, var pos) && uc == c) {
-                if (positions.length == 5) {
+            if (constraint instanceof Grey grey && grey.c == c) {
+                if (everywhere) {
                     return this;
                 }
-                if (pos.length == 5) {
-                    return new Grey(c);
+                if (grey.everywhere) {
+                    return grey;
                 }
-                return new Grey(c, Constraint.combine(this.positions, pos));
+                return new Grey(c, Constraint.combine(this.positions, grey.positions));
             }
             throw new IllegalStateException(this + " cannot merge with  " + constraint);
         }
@@ -207,7 +221,7 @@ public sealed interface Constraint extends Comparable<Constraint> {
         @Override
         public Constraint clearFound(Set<Integer> found) {
             var removed = remove(positions, found);
-            return removed == null ? null : new Grey(c, removed);
+            return removed == null ? null : removed == positions ? this : new Grey(c, removed);
         }
 
         @Override
@@ -222,7 +236,7 @@ public sealed interface Constraint extends Comparable<Constraint> {
 
         @Override
         public boolean equals(Object o) {
-            return o instanceof Grey(var uc, var ps) && c == uc && Arrays.equals(positions, ps);
+            return o instanceof Grey(var uc, var ps, var _) && c == uc && Arrays.equals(positions, ps);
         }
 
         @Override
@@ -232,8 +246,7 @@ public sealed interface Constraint extends Comparable<Constraint> {
 
         @Override
         public String toString() {
-            var length = positions.length;
-            return "[️🔘️" + c + (length == 0 || length == 5
+            return "[️🔘️" + c + (positions.length == 0 || everywhere
                 ? ""
                 : " " + toStrings(positions)) + "]";
         }
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static wordlewrangler.Constraint.*;
 
@@ -12,13 +13,12 @@ final class Constraints {
     public static Set<Constraint> parse(Word guess, String spec) {
         Map<Character, Constraint> yellows = new HashMap<>();
         Map<Character, Constraint> greys = new HashMap<>();
-        var letters = guess.letters();
         var specs = spec.toCharArray();
         Set<Constraint> constraints = new HashSet<>();
 
         // Quick scan for each letter
         for (int index = 0; index < specs.length; index++) {
-            var letter = letters[index];
+            var letter = guess.letter(index);
             switch (specs[index]) {
                 case 'F' -> constraints.add(new Green(letter, index));
                 case 'P' -> yellows.put(letter, new Yellow(letter, index));
@@ -33,7 +33,7 @@ final class Constraints {
             var yellow = yellows.get(c);
             if (yellow == null) {
                 // If not, they grey applies to all slots: The letter is not in the word
-                greys.put(c, new Grey(c));
+                greys.put(c, Grey.everywhere(c, guess.length()));
             } else {
                 // If so, the yellow constraint should apply to both these slots
                 yellows.put(c, yellow.merge(grey));
@@ -50,7 +50,17 @@ final class Constraints {
     private Constraints() {
     }
 
-    static final int[] ALL_POSITIONS = {0, 1, 2, 3, 4};
+    /**
+     * @param length Word length
+     * @return All positions, the same array for each length
+     */
+    static int[] everywhere(int length) {
+        return EVERYWHERE[length];
+    }
+
+    private static final int[][] EVERYWHERE = IntStream.rangeClosed(0, Word.MAX_LENGTH)
+        .mapToObj(length -> IntStream.range(0, length).toArray())
+        .toArray(int[][]::new);
 
     static final int[] NOWHERE = new int[0];
 }
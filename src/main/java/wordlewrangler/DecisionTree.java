@@ -0,0 +1,321 @@
+package wordlewrangler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * A complete strategy for a dictionary: The opener, and for each feedback the next guess, until every
+ * solution is guessed.  Each guess after the opener is the first of the {@link Game#hottestCandidates()
+ * hottest candidates} among the remaining ones, so the tree is the greedy strategy played out against every
+ * solution at once, and its {@link #stats() stats} measure that strategy.
+ * <p>
+ * Subtrees are built as fork/join tasks, and memoised by their candidates in a {@link SolverCache}, so
+ * building trees for several openers shares the subtrees they have in common.  Once built, a tree serves
+ * guesses by walking it, also as a {@link GuessStrategy}, and saves to a compact preorder file of guess ids and
+ * feedback patterns, the patterns as {@link Feedback#width(int) wide} as the word length needs.
+ */
+public final class DecisionTree implements GuessStrategy {
+
+    /**
+     * @param dictionary Dictionary
+     * @return Tree opening with the hottest candidate
+     */
+    public static DecisionTree build(Dictionary dictionary) {
+        return build(dictionary, null, SolverCache.shared());
+    }
+
+    /**
+     * @param dictionary Dictionary
+     * @param opener     Opener, or null for the hottest candidate
+     * @param memo       Cache for subtrees
+     * @return Tree
+     */
+    public static DecisionTree build(Dictionary dictionary, Word opener, SolverCache memo) {
+        if (opener != null && !dictionary.contains(opener)) {
+            throw new IllegalArgumentException("Not in dictionary: " + opener);
+        }
+        var all = IntStream.range(0, dictionary.size()).toArray();
+        var task = new Task(dictionary, all, opener == null ? -1 : dictionary.id(opener), memo);
+        return new DecisionTree(dictionary, task.invoke());
+    }
+
+    /**
+     * @param dictionary Dictionary
+     * @param path       File
+     * @return The tree, or null if the file is not a tree for this dictionary and version
+     */
+    public static DecisionTree load(Dictionary dictionary, Path path) {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.BIG_ENDIAN);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + path, e);
+        }
+        if (buffer.remaining() < HEADER_SIZE ||
+            buffer.getInt() != MAGIC ||
+            buffer.getInt() != VERSION ||
+            buffer.getLong() != dictionary.id() ||
+            buffer.getInt() != dictionary.size()
+        ) {
+            return null;
+        }
+        return new DecisionTree(dictionary, read(buffer, Feedback.width(dictionary.length())));
+    }
+
+    private final Dictionary dictionary;
+
+    private final Node root;
+
+    private final Stats stats;
+
+    private DecisionTree(Dictionary dictionary, Node root) {
+        this.dictionary = dictionary;
+        this.root = root;
+        this.stats = root.stats();
+    }
+
+    public Word opener() {
+        return dictionary.get(root.guess());
+    }
+
+    /**
+     * @return How many guesses the tree takes, over all solutions
+     */
+    public Stats stats() {
+        return stats;
+    }
+
+    /**
+     * @param game A game on this tree's dictionary
+     * @return The next guess, or null if the game is done or has left the tree
+     */
+    public Word next(Game game) {
+        if (game.dictionary() != dictionary) {
+            throw new IllegalArgumentException("Not a game on " + dictionary + ": " + game);
+        }
+        var guesses = game.guesses();
+        var node = root;
+        for (int i = 0; i < guesses.size() && node != null; i++) {
+            if (node.guess() != dictionary.id(guesses.get(i))) {
+                return null;
+            }
+            node = node.child(game.feedback().get(i));
+        }
+        return node == null ? null : dictionary.get(node.guess());
+    }
+
+    /**
+     * As a strategy: The tree's guess while the game follows the tree, or else the guesses the tree would have
+     * picked from, see {@link GuessStrategy.Builtin#MAX_AVERAGE_ELIMINATION}.
+     */
+    @Override
+    public List<Word> best(Game game) {
+        var next = game.dictionary() == dictionary ? next(game) : null;
+        return next == null
+            ? GuessStrategy.Builtin.MAX_AVERAGE_ELIMINATION.best(game)
+            : List.of(next);
+    }
+
+    /**
+     * @return Quadratic for a game that has left the tree, otherwise a walk down it
+     */
+    @Override
+    public Complexity complexity() {
+        return Complexity.QUADRATIC;
+    }
+
+    /**
+     * @param solution Solution
+     * @return How many guesses the tree takes to find it
+     */
+    public int guesses(Word solution) {
+        var id = dictionary.id(solution);
+        if (id < 0) {
+            throw new IllegalArgumentException("Not in dictionary: " + solution);
+        }
+        var guesses = 1;
+        for (var node = root; node.guess() != id; guesses++) {
+            node = node.child(Feedback.pattern(dictionary.get(node.guess()), solution));
+        }
+        return guesses;
+    }
+
+    public void save(Path path) throws IOException {
+        var width = Feedback.width(dictionary.length());
+        var buffer = ByteBuffer.allocate(HEADER_SIZE + root.byteSize(width)).order(ByteOrder.BIG_ENDIAN)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putLong(dictionary.id())
+            .putInt(dictionary.size());
+        root.write(buffer, width);
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        var temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, buffer.array());
+        } catch (Exception e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    Node root() {
+        return root;
+    }
+
+    private static Node read(ByteBuffer buffer, int width) {
+        var guess = buffer.getInt();
+        var count = Feedback.get(buffer, width);
+        var patterns = new int[count];
+        var children = new Node[count];
+        for (int i = 0; i < count; i++) {
+            patterns[i] = Feedback.get(buffer, width);
+            children[i] = read(buffer, width);
+        }
+        return new Node(guess, patterns, children);
+    }
+
+    private static final int MAGIC = 0x57575452;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 20;
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + opener() + ", " + stats + "]";
+    }
+
+    /**
+     * @param solutions Number of solutions
+     * @param total     Guesses to find each of them, summed
+     * @param worst     Most guesses to find any of them
+     */
+    public record Stats(int solutions, long total, int worst) {
+
+        public double average() {
+            return solutions == 0 ? 0d : 1d * total / solutions;
+        }
+    }
+
+    /**
+     * @param guess    Guess id
+     * @param patterns Feedback patterns with a subtree, ascending
+     * @param children Subtree for each pattern
+     */
+    record Node(int guess, int[] patterns, Node[] children) {
+
+        Node child(int pattern) {
+            var index = Arrays.binarySearch(patterns, pattern);
+            return index < 0 ? null : children[index];
+        }
+
+        Stats stats() {
+            var solutions = 1;
+            long total = 1;
+            var worst = 1;
+            for (Node child : children) {
+                var stats = child.stats();
+                solutions += stats.solutions();
+                total += stats.total() + stats.solutions();
+                worst = Math.max(worst, stats.worst() + 1);
+            }
+            return new Stats(solutions, total, worst);
+        }
+
+        int byteSize(int width) {
+            var size = Integer.BYTES + width;
+            for (Node child : children) {
+                size += width + child.byteSize(width);
+            }
+            return size;
+        }
+
+        void write(ByteBuffer buffer, int width) {
+            Feedback.put(buffer.putInt(guess), width, patterns.length);
+            for (int i = 0; i < patterns.length; i++) {
+                Feedback.put(buffer, width, patterns[i]);
+                children[i].write(buffer, width);
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Task extends RecursiveTask<Node> {
+
+        private final Dictionary dictionary;
+
+        private final int[] candidates;
+
+        private final int guess;
+
+        private final SolverCache memo;
+
+        private Task(Dictionary dictionary, int[] candidates, int guess, SolverCache memo) {
+            this.dictionary = dictionary;
+            this.candidates = candidates;
+            this.guess = guess;
+            this.memo = memo;
+        }
+
+        @Override
+        protected Node compute() {
+            if (guess >= 0) {
+                return node(guess);
+            }
+            return memo.get(
+                SolverCache.key(DecisionTree.class, WordSet.of(dictionary, candidates), -1),
+                () -> node(choose()),
+                _ -> candidates.length
+            );
+        }
+
+        private int choose() {
+            return candidates.length <= 2
+                ? candidates[0]
+                : dictionary.id(Eliminations.hottest(dictionary, candidates, candidates, -1).getFirst().word());
+        }
+
+        private Node node(int guess) {
+            var matrix = dictionary.matrix();
+            var solved = Feedback.solved(dictionary.length());
+            var sizes = new int[matrix.patterns()];
+            for (int candidate : candidates) {
+                sizes[matrix.pattern(guess, candidate)]++;
+            }
+            sizes[solved] = 0;
+            var buckets = new int[matrix.patterns()][];
+            var filled = new int[matrix.patterns()];
+            for (int candidate : candidates) {
+                var pattern = matrix.pattern(guess, candidate);
+                if (pattern != solved) {
+                    if (buckets[pattern] == null) {
+                        buckets[pattern] = new int[sizes[pattern]];
+                    }
+                    buckets[pattern][filled[pattern]++] = candidate;
+                }
+            }
+            var patterns = IntStream.range(0, matrix.patterns())
+                .filter(pattern -> buckets[pattern] != null)
+                .toArray();
+            List<Task> tasks = new ArrayList<>(patterns.length);
+            for (int pattern : patterns) {
+                tasks.add(new Task(dictionary, buckets[pattern], -1, memo));
+            }
+            var children = ForkJoinTask.invokeAll(tasks).stream()
+                .map(ForkJoinTask::join)
+                .toArray(Node[]::new);
+            return new Node(guess, patterns, children);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package wordlewrangler;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The words of a game, each with a dense id: Its index in the list. Dictionaries are interned by the
+ * {@link #id() hash of their words}, so games over the same word list share ids and
+ * {@link #matrix() feedback matrix}.  They are interned weakly: Once no game holds a dictionary, it goes away
+ * with its matrix, index and book.  All words have the same {@link #length() length}, which sizes the
+ * feedback patterns and everything built on them.
+ */
+@SuppressWarnings("NullableProblems")
+public final class Dictionary extends AbstractList<Word> implements RandomAccess {
+
+    public static Dictionary of(Collection<Word> words) {
+        if (words instanceof Dictionary dictionary) {
+            return dictionary;
+        }
+        var distinct = List.copyOf(new LinkedHashSet<>(words));
+        var id = hash(distinct);
+        var interned = intern(id, distinct);
+        return interned.words.equals(distinct) ? interned : new Dictionary(id, distinct);
+    }
+
+    /**
+     * @param id Dictionary id
+     * @return The interned dictionary with that id, or null if none is loaded
+     */
+    static Dictionary interned(long id) {
+        var interned = INTERNED.get(id);
+        return interned == null ? null : interned.get();
+    }
+
+    private static Dictionary intern(long id, List<Word> words) {
+        expunge();
+        while (true) {
+            var interned = INTERNED.get(id);
+            var dictionary = interned == null ? null : interned.get();
+            if (dictionary != null) {
+                return dictionary;
+            }
+            var created = new Dictionary(id, words);
+            var reference = new Interned(created);
+            if (interned == null
+                ? INTERNED.putIfAbsent(id, reference) == null
+                : INTERNED.replace(id, interned, reference)) {
+                return created;
+            }
+        }
+    }
+
+    private static void expunge() {
+        for (var collected = COLLECTED.poll(); collected != null; collected = COLLECTED.poll()) {
+            var interned = (Interned) collected;
+            INTERNED.remove(interned.id, interned);
+        }
+    }
+
+    private final long id;
+
+    private final int length;
+
+    private final List<Word> words;
+
+    private final Map<Word, Integer> ids;
+
+    private volatile FeedbackMatrix matrix;
+
+    private volatile LetterIndex index;
+
+    private volatile OpeningBook book;
+
+    private Dictionary(long id, List<Word> words) {
+        if (words.isEmpty()) {
+            throw new IllegalStateException("Empty dictionary");
+        }
+        this.id = id;
+        this.length = words.getFirst().length();
+        this.words = words;
+        this.ids = new HashMap<>(words.size() * 2);
+        for (int i = 0; i < words.size(); i++) {
+            var word = words.get(i);
+            if (word.length() != length) {
+                throw new IllegalStateException("Different lengths detected: " + length + " != " + word.length());
+            }
+            ids.put(word, i);
+        }
+    }
+
+    /**
+     * @return Hash of the words, in order
+     */
+    public long id() {
+        return id;
+    }
+
+    /**
+     * @return Length of the words
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return Number of feedback patterns for words of this length
+     */
+    public int patterns() {
+        return Feedback.patterns(length);
+    }
+
+    /**
+     * @param word Word
+     * @return Id of the word, or -1 if it is not in this dictionary
+     */
+    public int id(Word word) {
+        var id = ids.get(word);
+        return id == null ? -1 : id;
+    }
+
+    public int[] ids(Collection<Word> words) {
+        if (words instanceof WordSet set && set.dictionary() == this) {
+            return set.ids();
+        }
+        var ids = new int[words.size()];
+        var i = 0;
+        for (Word word : words) {
+            var id = id(word);
+            if (id < 0) {
+                throw new IllegalArgumentException("Not in dictionary: " + word);
+            }
+            ids[i++] = id;
+        }
+        return ids;
+    }
+
+    public long[] packed() {
+        var packed = new long[words.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = words.get(i).packed();
+        }
+        return packed;
+    }
+
+    /**
+     * @return The feedback matrix for this dictionary, loaded or built on first access
+     */
+    public FeedbackMatrix matrix() {
+        var matrix = this.matrix;
+        if (matrix == null) {
+            synchronized (this) {
+                matrix = this.matrix;
+                if (matrix == null) {
+                    this.matrix = matrix = FeedbackMatrix.of(this);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    LetterIndex index() {
+        var index = this.index;
+        if (index == null) {
+            synchronized (this) {
+                index = this.index;
+                if (index == null) {
+                    this.index = index = LetterIndex.of(this);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return The opening book for this dictionary, loaded on first access, empty if none was built
+     */
+    public OpeningBook book() {
+        var book = this.book;
+        if (book == null) {
+            synchronized (this) {
+                book = this.book;
+                if (book == null) {
+                    this.book = book = OpeningBook.of(this);
+                }
+            }
+        }
+        return book;
+    }
+
+    @Override
+    public Word get(int index) {
+        return words.get(index);
+    }
+
+    @Override
+    public int size() {
+        return words.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Word word && ids.containsKey(word);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return o instanceof Word word ? id(word) : -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Dictionary dictionary ? id == dictionary.id && words.equals(dictionary.words)
+            : super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return words.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + Long.toHexString(id) + ", words:" + words.size() + "]";
+    }
+
+    private static final Map<Long, Interned> INTERNED = new ConcurrentHashMap<>();
+
+    private static final ReferenceQueue<Dictionary> COLLECTED = new ReferenceQueue<>();
+
+    private static final class Interned extends WeakReference<Dictionary> {
+
+        private final long id;
+
+        private Interned(Dictionary dictionary) {
+            super(dictionary, COLLECTED);
+            this.id = dictionary.id;
+        }
+    }
+
+    private static long hash(List<Word> words) {
+        var hash = FNV_OFFSET;
+        for (Word word : words) {
+            hash = (hash ^ word.packed()) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+}
@@ -0,0 +1,110 @@
+package wordlewrangler;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Guesses and their eliminations, most first, ties in id order.  Kept as columns: The word ids and their
+ * eliminations as computed, and the order to rank them by.  A {@link WordElim} is only created when an element
+ * is asked for.
+ */
+public final class EliminationTable extends AbstractList<WordElim> implements RandomAccess {
+
+    /**
+     * @param dictionary Dictionary
+     * @param ids        Word ids, ascending
+     * @param eliminated Eliminations by each word
+     * @return The table, ranked
+     */
+    static EliminationTable descending(Dictionary dictionary, int[] ids, int[] eliminated) {
+        var keys = new long[ids.length];
+        for (int row = 0; row < ids.length; row++) {
+            keys[row] = (long) -eliminated[row] << 32 | row;
+        }
+        Arrays.sort(keys);
+        var order = new int[ids.length];
+        for (int rank = 0; rank < keys.length; rank++) {
+            order[rank] = (int) keys[rank];
+        }
+        return new EliminationTable(dictionary, ids, eliminated, order);
+    }
+
+    /**
+     * @param dictionary Dictionary
+     * @param ids        Word ids, in any order
+     * @param eliminated Eliminations by each word
+     * @return The table, ranked
+     */
+    static EliminationTable unordered(Dictionary dictionary, int[] ids, int[] eliminated) {
+        var keys = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            keys[i] = (long) ids[i] << 32 | eliminated[i] & 0xffffffffL;
+        }
+        Arrays.sort(keys);
+        var sortedIds = new int[ids.length];
+        var sortedEliminated = new int[ids.length];
+        for (int i = 0; i < keys.length; i++) {
+            sortedIds[i] = (int) (keys[i] >>> 32);
+            sortedEliminated[i] = (int) keys[i];
+        }
+        return descending(dictionary, sortedIds, sortedEliminated);
+    }
+
+    private final Dictionary dictionary;
+
+    private final int[] ids;
+
+    private final int[] eliminated;
+
+    private final int[] order;
+
+    private EliminationTable(Dictionary dictionary, int[] ids, int[] eliminated, int[] order) {
+        this.dictionary = dictionary;
+        this.ids = ids;
+        this.eliminated = eliminated;
+        this.order = order;
+    }
+
+    /**
+     * @param rank Rank
+     * @return Id of the word at the rank
+     */
+    public int id(int rank) {
+        return ids[order[rank]];
+    }
+
+    /**
+     * @param rank Rank
+     * @return The word at the rank
+     */
+    public Word word(int rank) {
+        return dictionary.get(id(rank));
+    }
+
+    /**
+     * @param rank Rank
+     * @return Eliminations by the word at the rank
+     */
+    public int eliminated(int rank) {
+        return eliminated[order[rank]];
+    }
+
+    @Override
+    public WordElim get(int rank) {
+        return new WordElim(word(rank), eliminated(rank));
+    }
+
+    @Override
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * @param rank Rank
+     * @return Position of the word at the rank in the ids the table was made from
+     */
+    int row(int rank) {
+        return order[rank];
+    }
+}
@@ -0,0 +1,533 @@
+package wordlewrangler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * How many candidates each guess eliminates: Against a known solution, or on average over all candidates as
+ * the assumed solution.  Computed as a fork/join reduction over ranges of guesses, each leaf filling its slice
+ * of a primitive array with its own pattern counts.  The {@link WordElim}s are only created on request, and
+ * only for the results asked for, see {@link EliminationTable}.
+ * <p>
+ * When only the best guesses are wanted, a guess is abandoned as soon as it cannot make the cut: While the
+ * candidates are counted, the sum of squared bucket sizes only grows, and so does the number of candidates
+ * left by a known solution.  The bar is shared between the fork/join ranges, each raising it as it finds
+ * better guesses.
+ */
+final class Eliminations {
+
+    static Eliminations average(Dictionary dictionary, int[] ids) {
+        return compute(dictionary, ids, ids, -1);
+    }
+
+    static Eliminations average(Dictionary dictionary, int[] guesses, int[] candidates) {
+        return compute(dictionary, guesses, candidates, -1);
+    }
+
+    static Eliminations against(Dictionary dictionary, int[] ids, int solution) {
+        return compute(dictionary, ids, ids, solution);
+    }
+
+    static Eliminations against(Dictionary dictionary, int[] guesses, int[] candidates, int solution) {
+        return compute(dictionary, guesses, candidates, solution);
+    }
+
+    /**
+     * Same as {@link #hottest()}, abandoning guesses that fall behind the best so far.
+     *
+     * @param dictionary Dictionary
+     * @param guesses    Guess ids
+     * @param candidates Candidate ids
+     * @param solution   Solution id, or -1 to average over the candidates
+     * @return The guesses with the most eliminations, in id order
+     */
+    static List<WordElim> hottest(Dictionary dictionary, int[] guesses, int[] candidates, int solution) {
+        if (guesses.length == 0) {
+            return List.of();
+        }
+        var eliminated = new int[guesses.length];
+        var floor = new AtomicInteger();
+        var tier = new Task(dictionary.matrix(), guesses, candidates, solution, eliminated, 0, guesses.length, floor)
+            .invoke();
+        return new Eliminations(dictionary, guesses, eliminated, tier).hottest();
+    }
+
+    /**
+     * The first {@code k} of {@link #descending()}, without sorting the rest: Each range of guesses keeps its
+     * best {@code k} in a bounded heap, and abandons guesses that cannot beat the worst of them.
+     *
+     * @param dictionary Dictionary
+     * @param guesses    Guess ids
+     * @param candidates Candidate ids
+     * @param solution   Solution id, or -1 to average over the candidates
+     * @param k          Number of guesses
+     * @return At most {@code k} guesses, most eliminations first, ties in id order
+     */
+    static List<WordElim> top(Dictionary dictionary, int[] guesses, int[] candidates, int solution, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Invalid k: " + k);
+        }
+        if (k == 0 || guesses.length == 0) {
+            return List.of();
+        }
+        var floor = new AtomicInteger();
+        var keys = new TopTask(dictionary.matrix(), guesses, candidates, solution, k, floor, 0, guesses.length)
+            .invoke()
+            .descending();
+        var top = new WordElim[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            top[i] = new WordElim(dictionary.get(guesses[Heap.index(keys[i])]), Heap.value(keys[i]));
+        }
+        return List.of(top);
+    }
+
+    /**
+     * Same as {@link #hottest()} of {@link #average(Dictionary, int[], int[])}, without computing all the
+     * guesses: They are evaluated in blocks, most promising first by their {@link GuessBounds bound}, until the
+     * bound drops below the best so far.
+     *
+     * @param dictionary Dictionary
+     * @param guesses    Guess ids, ascending
+     * @param candidates Candidate ids
+     * @return The guesses with the most eliminations on average, in id order
+     */
+    static List<WordElim> hottestAverage(Dictionary dictionary, int[] guesses, int[] candidates) {
+        if (guesses.length == 0 || candidates.length == 0) {
+            return List.of();
+        }
+        var bounds = GuessBounds.of(dictionary, candidates);
+        var packed = dictionary.packed();
+        var order = new long[guesses.length];
+        for (int i = 0; i < guesses.length; i++) {
+            order[i] = (long) (candidates.length - bounds.eliminated(packed[guesses[i]])) << 32 | i;
+        }
+        Arrays.sort(order);
+        var matrix = dictionary.matrix();
+        var values = new int[guesses.length];
+        var parallel = (long) candidates.length * BLOCK_SIZE >= PARALLEL_THRESHOLD;
+        var max = -1;
+        var atMax = 0;
+        for (int from = 0; from < order.length; from += BLOCK_SIZE) {
+            if (candidates.length - (int) (order[from] >>> 32) < max) {
+                break;
+            }
+            var to = Math.min(from + BLOCK_SIZE, order.length);
+            SolverCounters.evaluated(to - from);
+            if (parallel) {
+                var floor = Math.max(max, 0);
+                IntStream.range(from, to).parallel()
+                    .forEach(i -> {
+                        var index = (int) order[i];
+                        var counts = PartitionStats.counts(matrix.patterns());
+                        values[index] = average(matrix, guesses[index], candidates, counts, floor);
+                    });
+            } else {
+                var floor = Math.max(max, 0);
+                var counts = PartitionStats.counts(matrix.patterns());
+                for (int i = from; i < to; i++) {
+                    var index = (int) order[i];
+                    values[index] = average(matrix, guesses[index], candidates, counts, floor);
+                    floor = Math.max(floor, values[index]);
+                }
+            }
+            for (int i = from; i < to; i++) {
+                var value = values[(int) order[i]];
+                if (value > max) {
+                    max = value;
+                    atMax = 1;
+                } else if (value == max) {
+                    atMax++;
+                }
+            }
+        }
+        var hottest = new WordElim[atMax];
+        var count = 0;
+        for (int index = 0; index < guesses.length && count < atMax; index++) {
+            if (values[index] == max) {
+                hottest[count++] = new WordElim(dictionary.get(guesses[index]), max);
+            }
+        }
+        return List.of(hottest);
+    }
+
+    private final Dictionary dictionary;
+
+    private final int[] guesses;
+
+    private final int[] eliminated;
+
+    private final int max;
+
+    private final int atMax;
+
+    private Eliminations(Dictionary dictionary, int[] guesses, int[] eliminated, Tier tier) {
+        this.dictionary = dictionary;
+        this.guesses = guesses;
+        this.eliminated = eliminated;
+        this.max = tier.max();
+        this.atMax = tier.count();
+    }
+
+    /**
+     * @return The guesses with the most eliminations, in id order
+     */
+    List<WordElim> hottest() {
+        var hottest = new WordElim[atMax];
+        var count = 0;
+        for (int i = 0; i < guesses.length && count < atMax; i++) {
+            if (eliminated[i] == max) {
+                hottest[count++] = wordElim(i);
+            }
+        }
+        return List.of(hottest);
+    }
+
+    /**
+     * @return All guesses, most eliminations first, ties in id order
+     */
+    EliminationTable descending() {
+        return EliminationTable.descending(dictionary, guesses, eliminated);
+    }
+
+    private WordElim wordElim(int index) {
+        return new WordElim(dictionary.get(guesses[index]), eliminated[index]);
+    }
+
+    private static Eliminations compute(Dictionary dictionary, int[] guesses, int[] candidates, int solution) {
+        var eliminated = new int[guesses.length];
+        var tier = guesses.length == 0
+            ? new Tier(0, 0)
+            : new Task(dictionary.matrix(), guesses, candidates, solution, eliminated, 0, guesses.length, null)
+                .invoke();
+        return new Eliminations(dictionary, guesses, eliminated, tier);
+    }
+
+    /**
+     * Each candidate adds at least one to the sum of squares, so it starts out at one per candidate, and grows
+     * by {@code 2c} as a bucket of {@code c} gets another.  Once it is past the largest sum that still rounds to
+     * {@code floor} eliminations, the guess is abandoned.
+     *
+     * @param counts Buffer of {@link FeedbackMatrix#patterns()} counts, all zero, and left that way
+     * @param floor  Fewest eliminations of interest
+     * @return Eliminations on average, or -1 if fewer than {@code floor}
+     */
+    private static int average(FeedbackMatrix matrix, int guess, int[] candidates, int[] counts, int floor) {
+        long n = candidates.length;
+        var limit = n * n - n * floor + n / 2;
+        var sumOfSquares = n;
+        var counted = 0;
+        while (counted < candidates.length && sumOfSquares <= limit) {
+            sumOfSquares += 2L * counts[matrix.pattern(guess, candidates[counted++])]++;
+        }
+        clear(matrix, guess, candidates, counted, counts);
+        return sumOfSquares > limit ? -1 : PartitionStats.eliminated(n, sumOfSquares);
+    }
+
+    /**
+     * Clears the counts by going over the counted candidates again, if there are fewer of them than patterns.
+     */
+    private static void clear(FeedbackMatrix matrix, int guess, int[] candidates, int counted, int[] counts) {
+        if (counted < matrix.patterns()) {
+            for (int i = 0; i < counted; i++) {
+                counts[matrix.pattern(guess, candidates[i])] = 0;
+            }
+        } else {
+            Arrays.fill(counts, 0, matrix.patterns(), 0);
+        }
+    }
+
+    /**
+     * @param floor Fewest eliminations of interest
+     * @return Eliminations against the solution, or -1 if fewer than {@code floor}
+     */
+    private static int against(FeedbackMatrix matrix, int guess, int[] candidates, int solution, int floor) {
+        var pattern = matrix.pattern(guess, solution);
+        var most = candidates.length - floor;
+        var remaining = 0;
+        for (int candidate : candidates) {
+            if (matrix.pattern(guess, candidate) == pattern && ++remaining > most) {
+                return -1;
+            }
+        }
+        return candidates.length - remaining;
+    }
+
+    /**
+     * @param counts Buffer of {@link FeedbackMatrix#patterns()} counts, all zero, and left that way
+     * @param floor  Fewest eliminations of interest, or 0 for all
+     * @return Eliminations on average or against the solution, or -1 if fewer than {@code floor}
+     */
+    static int eliminated(
+        FeedbackMatrix matrix,
+        int guess,
+        int[] candidates,
+        int solution,
+        int[] counts,
+        int floor
+    ) {
+        return solution < 0
+            ? average(matrix, guess, candidates, counts, floor)
+            : against(matrix, guess, candidates, solution, floor);
+    }
+
+    static final int BLOCK_SIZE = 256;
+
+    /**
+     * Below this many pattern lookups, a block is cheaper to count on one thread.
+     */
+    static final long PARALLEL_THRESHOLD = 1L << 16;
+
+    /**
+     * The best number of eliminations, and how many guesses have it.
+     */
+    private record Tier(int max, int count) {
+
+        Tier combine(Tier other) {
+            return max > other.max ? this
+                : max < other.max ? other
+                    : new Tier(max, count + other.count);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Task extends RecursiveTask<Tier> {
+
+        private final FeedbackMatrix matrix;
+
+        private final int[] guesses;
+
+        private final int[] candidates;
+
+        private final int solution;
+
+        private final int[] eliminated;
+
+        private final int from;
+
+        private final int to;
+
+        /**
+         * Fewest eliminations in the best tier so far, or null to compute all guesses in full.
+         */
+        private final AtomicInteger floor;
+
+        private Task(
+            FeedbackMatrix matrix,
+            int[] guesses,
+            int[] candidates,
+            int solution,
+            int[] eliminated,
+            int from,
+            int to,
+            AtomicInteger floor
+        ) {
+            this.matrix = matrix;
+            this.guesses = guesses;
+            this.candidates = candidates;
+            this.solution = solution;
+            this.eliminated = eliminated;
+            this.from = from;
+            this.to = to;
+            this.floor = floor;
+        }
+
+        @Override
+        protected Tier compute() {
+            if (to - from <= LEAF_SIZE) {
+                return leaf();
+            }
+            var middle = from + to >>> 1;
+            var left = new Task(matrix, guesses, candidates, solution, eliminated, from, middle, floor);
+            var right = new Task(matrix, guesses, candidates, solution, eliminated, middle, to, floor);
+            left.fork();
+            var rightTier = right.compute();
+            return left.join().combine(rightTier);
+        }
+
+        private Tier leaf() {
+            SolverCounters.evaluated(to - from);
+            var counts = PartitionStats.counts(matrix.patterns());
+            var max = -1;
+            var atMax = 0;
+            for (int i = from; i < to; i++) {
+                var bar = floor == null ? 0 : Math.max(floor.get(), Math.max(max, 0));
+                var value = Eliminations.eliminated(matrix, guesses[i], candidates, solution, counts, bar);
+                eliminated[i] = value;
+                if (value > max) {
+                    max = value;
+                    atMax = 1;
+                    if (floor != null) {
+                        floor.accumulateAndGet(value, Math::max);
+                    }
+                } else if (value == max) {
+                    atMax++;
+                }
+            }
+            return new Tier(max, atMax);
+        }
+
+        private static final int LEAF_SIZE = 32;
+    }
+
+    @SuppressWarnings("serial")
+    private static final class TopTask extends RecursiveTask<Heap> {
+
+        private final FeedbackMatrix matrix;
+
+        private final int[] guesses;
+
+        private final int[] candidates;
+
+        private final int solution;
+
+        private final int k;
+
+        /**
+         * Fewest eliminations in any full heap so far.
+         */
+        private final AtomicInteger floor;
+
+        private final int from;
+
+        private final int to;
+
+        private TopTask(
+            FeedbackMatrix matrix,
+            int[] guesses,
+            int[] candidates,
+            int solution,
+            int k,
+            AtomicInteger floor,
+            int from,
+            int to
+        ) {
+            this.matrix = matrix;
+            this.guesses = guesses;
+            this.candidates = candidates;
+            this.solution = solution;
+            this.k = k;
+            this.floor = floor;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Heap compute() {
+            if (to - from <= LEAF_SIZE) {
+                return leaf();
+            }
+            var middle = from + to >>> 1;
+            var left = new TopTask(matrix, guesses, candidates, solution, k, floor, from, middle);
+            var right = new TopTask(matrix, guesses, candidates, solution, k, floor, middle, to);
+            left.fork();
+            var rightHeap = right.compute();
+            return left.join().merge(rightHeap);
+        }
+
+        private Heap leaf() {
+            SolverCounters.evaluated(to - from);
+            var counts = PartitionStats.counts(matrix.patterns());
+            var heap = new Heap(k);
+            for (int i = from; i < to; i++) {
+                var bar = Math.max(floor.get(), heap.full() ? Heap.value(heap.min()) + 1 : 0);
+                var value = eliminated(matrix, guesses[i], candidates, solution, counts, bar);
+                if (value >= 0) {
+                    heap.offer(Heap.key(value, i));
+                    if (heap.full()) {
+                        floor.accumulateAndGet(Heap.value(heap.min()), Math::max);
+                    }
+                }
+            }
+            return heap;
+        }
+
+        private static final int LEAF_SIZE = 32;
+    }
+
+    /**
+     * Min-heap of the best keys seen, at most {@code k}.  A key is the eliminations in the high int, and the
+     * index inverted in the low int, so more eliminations and then lower indexes are better.
+     */
+    static final class Heap {
+
+        static long key(int value, int index) {
+            return (long) value << 32 | Integer.MAX_VALUE - index;
+        }
+
+        static int value(long key) {
+            return (int) (key >>> 32);
+        }
+
+        static int index(long key) {
+            return Integer.MAX_VALUE - (int) key;
+        }
+
+        private final long[] keys;
+
+        private int size;
+
+        Heap(int k) {
+            this.keys = new long[k];
+        }
+
+        boolean full() {
+            return size == keys.length;
+        }
+
+        long min() {
+            return keys[0];
+        }
+
+        void offer(long key) {
+            if (!full()) {
+                var i = size++;
+                while (i > 0 && keys[i - 1 >>> 1] > key) {
+                    keys[i] = keys[i - 1 >>> 1];
+                    i = i - 1 >>> 1;
+                }
+                keys[i] = key;
+            } else if (key > keys[0]) {
+                var i = 0;
+                while (true) {
+                    var child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && keys[child + 1] < keys[child]) {
+                        child++;
+                    }
+                    if (keys[child] >= key) {
+                        break;
+                    }
+                    keys[i] = keys[child];
+                    i = child;
+                }
+                keys[i] = key;
+            }
+        }
+
+        Heap merge(Heap other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.keys[i]);
+            }
+            return this;
+        }
+
+        /**
+         * @return The keys, best first
+         */
+        long[] descending() {
+            var sorted = Arrays.copyOf(keys, size);
+            Arrays.sort(sorted);
+            for (int i = 0, j = sorted.length - 1; i < j; i++, j--) {
+                var key = sorted[i];
+                sorted[i] = sorted[j];
+                sorted[j] = key;
+            }
+            return sorted;
+        }
+    }
+}
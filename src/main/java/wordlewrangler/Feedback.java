@@ -0,0 +1,237 @@
+package wordlewrangler;
+
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
+
+/**
+ * The feedback engine. The feedback for a {@link Word#packed() packed} guess against a packed solution is a
+ * base-3 pattern:
+ * {@link #GREY}, {@link #YELLOW} or {@link #GREEN} per position, position 0 as the least significant
+ * digit.  A word of {@code n} letters has {@link #patterns(int) 3<sup>n</sup>} patterns, which fit in the
+ * {@link #width(int) width} of a byte up to five letters, a short up to ten, and an int up to
+ * {@link Word#MAX_LENGTH}.  Nothing here allocates.
+ */
+public final class Feedback {
+
+    /**
+     * Powers of three, up to a word of {@link Word#MAX_LENGTH} letters.  First, since the pattern counts
+     * below are computed from it.
+     */
+    private static final int[] POWERS = IntStream.iterate(1, power -> power * 3)
+        .limit(Word.MAX_LENGTH + 1)
+        .toArray();
+
+    /**
+     * Number of patterns for a {@link Word#CLASSIC_LENGTH classic} five-letter word.
+     */
+    public static final int PATTERNS = patterns(Word.CLASSIC_LENGTH);
+
+    /**
+     * The all-green pattern for a {@link Word#CLASSIC_LENGTH classic} five-letter word.
+     */
+    public static final int SOLVED = solved(Word.CLASSIC_LENGTH);
+
+    /**
+     * @param length Word length
+     * @return Number of patterns
+     */
+    public static int patterns(int length) {
+        return POWERS[length];
+    }
+
+    /**
+     * @param length Word length
+     * @return The all-green pattern
+     */
+    public static int solved(int length) {
+        return POWERS[length] - 1;
+    }
+
+    public static int pattern(Word guess, Word solution) {
+        SolverCounters.feedback(1);
+        return pattern(guess.packed(), solution.packed());
+    }
+
+    /**
+     * @param guess    Packed guess
+     * @param solution Packed solution
+     * @return Pattern, with duplicate letters coloured the way Wordle does it: Greens first, then yellows
+     * left to right for as long as the solution has unmatched copies of the letter, grey for the rest
+     */
+    public static int pattern(long guess, long solution) {
+        var length = length(guess);
+        if (length(solution) != length) {
+            throw new IllegalArgumentException("Guess of length " + length + ", solution of " + length(solution));
+        }
+        var matched = 0;
+        for (int i = 0; i < length; i++) {
+            if (letter(guess, i) == letter(solution, i)) {
+                matched |= 1 << i;
+            }
+        }
+        var greens = matched;
+        var pattern = 0;
+        for (int i = 0; i < length; i++) {
+            if ((greens & 1 << i) != 0) {
+                pattern += GREEN * POWERS[i];
+            } else {
+                var letter = letter(guess, i);
+                for (int j = 0; j < length; j++) {
+                    if ((matched & 1 << j) == 0 && letter(solution, j) == letter) {
+                        matched |= 1 << j;
+                        pattern += YELLOW * POWERS[i];
+                        break;
+                    }
+                }
+            }
+        }
+        return pattern;
+    }
+
+    public static int digit(int pattern, int position) {
+        return pattern / POWERS[position] % 3;
+    }
+
+    /**
+     * @param pattern Pattern for a {@link Word#CLASSIC_LENGTH classic} five-letter word
+     * @return Spec in the format read by {@link Constraints#parse(Word, String)}
+     */
+    public static String spec(int pattern) {
+        return spec(pattern, Word.CLASSIC_LENGTH);
+    }
+
+    /**
+     * @param pattern Pattern
+     * @param length  Word length
+     * @return Spec in the format read by {@link Constraints#parse(Word, String)}
+     */
+    public static String spec(int pattern, int length) {
+        var spec = new char[length];
+        for (int i = 0; i < spec.length; i++) {
+            spec[i] = SPEC[digit(pattern, i)];
+        }
+        return new String(spec);
+    }
+
+    /**
+     * @param spec Spec, one letter per position
+     * @return Pattern for a word of the spec's length
+     */
+    public static int parse(String spec) {
+        if (spec.isEmpty() || spec.length() > Word.MAX_LENGTH) {
+            throw new IllegalArgumentException("Invalid constraint spec: " + spec);
+        }
+        var pattern = 0;
+        for (int i = 0; i < spec.length(); i++) {
+            pattern += POWERS[i] * switch (spec.charAt(i)) {
+                case 'F' -> GREEN;
+                case 'P' -> YELLOW;
+                case 'U' -> GREY;
+                default -> throw new IllegalArgumentException("Invalid constraint spec: " + spec);
+            };
+        }
+        return pattern;
+    }
+
+    /**
+     * @param packed   Packed word
+     * @param position Position
+     * @return Code of the letter at the position
+     */
+    static int letter(long packed, int position) {
+        return (int) (packed >>> Long.SIZE - BITS * (position + 1)) & MASK;
+    }
+
+    /**
+     * @param packed Packed word
+     * @return Number of letters
+     */
+    static int length(long packed) {
+        return (int) packed & LENGTH_MASK;
+    }
+
+    /**
+     * @param length Word length
+     * @return Bytes per pattern: One, two or four
+     */
+    static int width(int length) {
+        var patterns = patterns(length);
+        return patterns <= 1 << Byte.SIZE ? Byte.BYTES
+            : patterns <= 1 << Short.SIZE ? Short.BYTES
+                : Integer.BYTES;
+    }
+
+    /**
+     * @param buffer Buffer
+     * @param width  {@link #width(int) Width}
+     * @param value  Pattern, or a count of patterns
+     * @return The buffer
+     */
+    static ByteBuffer put(ByteBuffer buffer, int width, int value) {
+        return switch (width) {
+            case Byte.BYTES -> buffer.put((byte) value);
+            case Short.BYTES -> buffer.putShort((short) value);
+            default -> buffer.putInt(value);
+        };
+    }
+
+    /**
+     * @param buffer Buffer
+     * @param width  {@link #width(int) Width}
+     * @return Pattern, or a count of patterns, as {@link #put(ByteBuffer, int, int) put}
+     */
+    static int get(ByteBuffer buffer, int width) {
+        return switch (width) {
+            case Byte.BYTES -> Byte.toUnsignedInt(buffer.get());
+            case Short.BYTES -> Short.toUnsignedInt(buffer.getShort());
+            default -> buffer.getInt();
+        };
+    }
+
+    static int code(char c) {
+        var code = index(c);
+        if (code < 0) {
+            throw new IllegalArgumentException("Unsupported letter: " + c);
+        }
+        return code;
+    }
+
+    /**
+     * @param c Letter
+     * @return Code of the letter, or -1 if not in the {@link #ALPHABET}
+     */
+    static int index(char c) {
+        return c >= 'A' && c <= 'Z' ? c - 'A' : ALPHABET.indexOf(c);
+    }
+
+    static char letter(int code) {
+        return ALPHABET.charAt(code);
+    }
+
+    private Feedback() {
+    }
+
+    static final int GREY = 0;
+
+    static final int YELLOW = 1;
+
+    static final int GREEN = 2;
+
+    /**
+     * All supported letters, in {@link Character} order, so packed words order like their strings.
+     */
+    static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZÄÅÆÖØÜ";
+
+    static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * Low bits of a packed word, holding its length.
+     */
+    static final int LENGTH_BITS = 4;
+
+    private static final int LENGTH_MASK = (1 << LENGTH_BITS) - 1;
+
+    private static final char[] SPEC = {'U', 'P', 'F'};
+}
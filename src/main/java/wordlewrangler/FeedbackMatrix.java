@@ -0,0 +1,187 @@
+package wordlewrangler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * The {@link Feedback#pattern(long, long) pattern} for every guess and solution in a {@link Dictionary}, one
+ * cell per pair, guess-major.  A cell is as {@link Feedback#width(int) wide} as the word length needs: A
+ * byte for classic five-letter words, a short or an int for longer ones.  Built in parallel on first use and
+ * saved to a versioned file named by the dictionary id, which later runs memory-map instead of building.
+ * <p>
+ * The directory is {@value #CACHE_PROPERTY}, if set, or {@code wordlewrangler} under {@code java.io.tmpdir}.
+ */
+public final class FeedbackMatrix {
+
+    public static final String CACHE_PROPERTY = "wordlewrangler.cache";
+
+    static FeedbackMatrix of(Dictionary dictionary) {
+        return dictionary.size() < PERSIST_THRESHOLD
+            ? build(dictionary)
+            : of(dictionary, cacheDirectory());
+    }
+
+    static FeedbackMatrix of(Dictionary dictionary, Path directory) {
+        var path = directory.resolve(fileName(dictionary));
+        if (Files.isRegularFile(path)) {
+            var loaded = load(dictionary, path);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+        var built = build(dictionary);
+        try {
+            built.save(path);
+        } catch (Exception e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Failed to write " + path + ", keeping matrix in memory", e);
+        }
+        return built;
+    }
+
+    static FeedbackMatrix build(Dictionary dictionary) {
+        var size = dictionary.size();
+        var width = Feedback.width(dictionary.length());
+        var packed = dictionary.packed();
+        var patterns = ByteBuffer.wrap(new byte[Math.multiplyExact(Math.multiplyExact(size, size), width)]);
+        IntStream.range(0, size).parallel()
+            .forEach(guess -> {
+                var row = guess * size;
+                var key = packed[guess];
+                for (int solution = 0; solution < size; solution++) {
+                    var pattern = Feedback.pattern(key, packed[solution]);
+                    switch (width) {
+                        case Byte.BYTES -> patterns.put(row + solution, (byte) pattern);
+                        case Short.BYTES -> patterns.putShort((row + solution) * width, (short) pattern);
+                        default -> patterns.putInt((row + solution) * width, pattern);
+                    }
+                }
+            });
+        SolverCounters.feedback((long) size * size);
+        return new FeedbackMatrix(dictionary.id(), size, dictionary.patterns(), width, patterns);
+    }
+
+    /**
+     * @param dictionary Dictionary
+     * @param path       File
+     * @return The matrix, memory-mapped, or null if the file is not a matrix for this dictionary and version
+     */
+    static FeedbackMatrix load(Dictionary dictionary, Path path) {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = dictionary.size();
+            var width = Feedback.width(dictionary.length());
+            var length = (long) size * size * width;
+            var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            if (header.getInt() != MAGIC ||
+                header.getInt() != VERSION ||
+                header.getLong() != dictionary.id() ||
+                header.getInt() != size ||
+                channel.size() != HEADER_SIZE + length
+            ) {
+                return null;
+            }
+            var patterns = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, length);
+            return new FeedbackMatrix(dictionary.id(), size, dictionary.patterns(), width, patterns);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + path, e);
+        }
+    }
+
+    private final long id;
+
+    private final int size;
+
+    private final int count;
+
+    private final int width;
+
+    private final ByteBuffer patterns;
+
+    private FeedbackMatrix(long id, int size, int count, int width, ByteBuffer patterns) {
+        this.id = id;
+        this.size = size;
+        this.count = count;
+        this.width = width;
+        this.patterns = patterns;
+    }
+
+    public int pattern(int guess, int solution) {
+        var cell = guess * size + solution;
+        return switch (width) {
+            case Byte.BYTES -> Byte.toUnsignedInt(patterns.get(cell));
+            case Short.BYTES -> Short.toUnsignedInt(patterns.getShort(cell * Short.BYTES));
+            default -> patterns.getInt(cell * Integer.BYTES);
+        };
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Number of patterns, as in {@link Dictionary#patterns()}
+     */
+    public int patterns() {
+        return count;
+    }
+
+    void save(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        var temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(id)
+                .putInt(size)
+                .flip();
+            write(channel, header);
+            write(channel, patterns.duplicate().clear());
+        } catch (Exception e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    static Path cacheDirectory() {
+        var property = System.getProperty(CACHE_PROPERTY);
+        return property == null || property.isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"), "wordlewrangler")
+            : Path.of(property);
+    }
+
+    private static String fileName(Dictionary dictionary) {
+        return "feedback-" + Long.toHexString(dictionary.id()) + ".v" + VERSION + ".bin";
+    }
+
+    /**
+     * Below this many words, building is cheaper than going to disk.
+     */
+    private static final int PERSIST_THRESHOLD = 512;
+
+    private static final int MAGIC = 0x57574d58;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 20;
+
+    private static final System.Logger LOGGER = System.getLogger(FeedbackMatrix.class.getName());
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + Long.toHexString(id) + ", " + size + "x" + size + "]";
+    }
+}
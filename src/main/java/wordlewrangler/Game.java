@@ -1,38 +1,93 @@
 package wordlewrangler;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+/**
+ * A game in progress.  Each guess narrows the candidates by its own feedback, so the candidates always
+ * satisfy all feedback so far.  Nothing is copied from move to move but the guesses, their feedback and the
+ * letter counts.
+ *
+ * @param solution      The solution, or null for a secret game
+ * @param unitaryLength Word length
+ * @param dictionary    All words
+ * @param candidates    Words still possible
+ * @param past          Past solutions, not candidates
+ * @param guesses       Guesses so far
+ * @param feedback      Feedback pattern for each guess, see {@link Feedback}
+ * @param letters       Letter frequencies among the candidates, kept up to date as they narrow
+ */
 @SuppressWarnings("NullableProblems")
 public record Game(
     Word solution,
     int unitaryLength,
-    Collection<Word> dictionary,
-    Collection<Word> candidates,
+    Dictionary dictionary,
+    WordSet candidates,
     Collection<Word> past,
-    List<Constraint> constraints,
-    List<Word> guesses
+    List<Word> guesses,
+    List<Integer> feedback,
+    LetterFrequencies letters
 ) {
 
     public Game(
         Word solution,
         int unitaryLength,
-        Collection<Word> dictionary,
-        Collection<Word> candidates,
+        Dictionary dictionary,
+        WordSet candidates,
         Collection<Word> past,
-        List<Constraint> constraints,
-        List<Word> guesses
+        List<Word> guesses,
+        List<Integer> feedback,
+        LetterFrequencies letters
     ) {
         this.solution = solution;
         this.unitaryLength = unitaryLength;
-        this.dictionary = Set.copyOf(dictionary);
-        this.candidates = Set.copyOf(candidates);
-        this.past = Set.copyOf(past);
-        this.constraints = constraints;
+        this.dictionary = Objects.requireNonNull(dictionary, "dictionary");
+        if (candidates.dictionary() != dictionary) {
+            throw new IllegalArgumentException("Candidates not from " + dictionary);
+        }
+        if (guesses.size() != feedback.size()) {
+            throw new IllegalArgumentException("Feedback for " + feedback.size() + "/" + guesses.size() + " guesses");
+        }
+        if (letters.total() != candidates.size()) {
+            throw new IllegalArgumentException(
+                "Letters of " + letters.total() + "/" + candidates.size() + " candidates"
+            );
+        }
+        this.candidates = candidates;
+        this.past = past;
         this.guesses = guesses;
+        this.feedback = feedback;
+        this.letters = letters;
+    }
+
+    public Game(
+        Word solution,
+        int unitaryLength,
+        Dictionary dictionary,
+        WordSet candidates,
+        Collection<Word> past,
+        List<Word> guesses,
+        List<Integer> feedback
+    ) {
+        this(
+            solution,
+            unitaryLength,
+            dictionary,
+            candidates,
+            past,
+            guesses,
+            feedback,
+            LetterFrequencies.of(dictionary, candidates)
+        );
     }
 
     public Game(List<Word> candidates) {
@@ -43,37 +98,40 @@ public record Game(
         if (candidates.isEmpty()) {
             throw new IllegalStateException("Empty candidates");
         }
-        var length = unitaryLength(candidates);
-        if (solution != null) {
-            if (!candidates.contains(solution)) {
-                throw new IllegalArgumentException("Invalid solution, not contained in candidates: " + solution);
-            }
-            if (solution.length() != length) {
-                throw new IllegalStateException("Invalid length for solution, should be " + length + ": " + solution);
-            }
+        var dictionary = Dictionary.of(candidates);
+        if (solution != null && !dictionary.contains(solution)) {
+            throw new IllegalArgumentException("Invalid solution, not contained in candidates: " + solution);
         }
         this(
             solution,
-            length,
-            candidates,
-            candidates,
+            dictionary.length(),
+            dictionary,
+            WordSet.all(dictionary),
+            Set.of(),
             List.of(),
-            Collections.emptyList(),
-            Collections.emptyList()
+            List.of()
         );
     }
 
+    /**
+     * @param snapshot Snapshot of a game on an interned dictionary, see {@link #snapshot()}
+     * @return The game
+     */
+    public static Game restore(byte[] snapshot) {
+        return GameSnapshot.read(ByteBuffer.wrap(snapshot));
+    }
+
     public Game past(Collection<Word> past) {
+        var without = candidates.without(past);
         return new Game(
             solution,
             unitaryLength,
             dictionary,
-            candidates.stream()
-                .filter(word -> !past.contains(word))
-                .toList(),
-            past,
-            constraints,
-            guesses
+            without,
+            Set.copyOf(past),
+            guesses,
+            feedback,
+            letters.narrowed(dictionary, candidates, without)
         );
     }
 
@@ -81,31 +139,12 @@ public record Game(
         return set(new Word(word));
     }
 
+    /**
+     * @return The letters at each position among the candidates, most common first
+     */
     public LetterDistributions distribution() {
-        return new LetterDistributions(
-            IntStream.range(0, unitaryLength)
-                .mapToObj(position ->
-                    new LetterDistribution(
-                        position,
-                        candidates.stream()
-                            .map(word ->
-                                word.letters()[position])
-                            .collect(
-                                Collectors.groupingBy(
-                                    Function.identity(),
-                                    Collectors.counting()
-                                ))
-                            .entrySet()
-                            .stream()
-                            .map(entry ->
-                                new LetterCount(
-                                    entry.getKey(),
-                                    Math.toIntExact(entry.getValue())
-                                ))
-                            .sorted(Comparator.<LetterCount>naturalOrder().reversed())
-                            .toList()
-                    ))
-                .toList());
+        return cached(Query.DISTRIBUTION, -1, letters::distributions, distributions ->
+            distributions.distributions().size());
     }
 
     public Game set(Word solution) {
@@ -121,13 +160,23 @@ public record Game(
             dictionary,
             candidates,
             past,
-            constraints,
-            guesses
+            guesses,
+            feedback,
+            letters
         );
     }
 
     public Game guessWord() {
-        return tryWord(randomElement(candidates));
+        return guessWord(GuessStrategy.Builtin.RANDOM, RND);
+    }
+
+    /**
+     * @param strategy Strategy
+     * @param random   Random source, for picking among equally good guesses
+     * @return Game with the strategy's guess made
+     */
+    public Game guessWord(GuessStrategy strategy, RandomGenerator random) {
+        return tryWord(strategy.guess(this, random));
     }
 
     public Game tryWord(String guess) {
@@ -138,34 +187,185 @@ public record Game(
         if (solution == null) {
             throw new IllegalStateException(this + " is a secret game, constraints must be supplied with new guess");
         }
-        return apply(guess, constraintsAgainst(solution, guess));
+        return apply(guess, Feedback.pattern(guess, solution));
     }
 
     public Game tried(String guess, String spec) {
-        return apply(new Word(guess), providedConstraints(guess, spec));
+        if (spec.length() != unitaryLength) {
+            throw new IllegalArgumentException("Invalid constraint spec: " + spec);
+        }
+        return tried(new Word(guess), Feedback.parse(spec));
+    }
+
+    /**
+     * @param guess   Guess
+     * @param pattern Feedback, see {@link Feedback}
+     * @return Game with the guess made
+     */
+    public Game tried(Word guess, int pattern) {
+        return apply(guess, pattern);
+    }
+
+    /**
+     * Merged from the feedback on request, for display.  The candidates are narrowed by the feedback directly.
+     *
+     * @return What the guesses so far tell us
+     */
+    public List<Constraint> constraints() {
+        List<Constraint> constraints = List.of();
+        for (int i = 0; i < guesses.size(); i++) {
+            constraints = mergeConstraints(
+                constraints,
+                Constraints.parse(guesses.get(i), Feedback.spec(feedback.get(i), unitaryLength))
+            );
+        }
+        return constraints;
     }
 
     public WordElim someHotCandidate() {
-        return randomElement(hottestCandidates());
+        return someHotCandidate(RND);
     }
 
-    public List<WordElim> hottestCandidates() {
-        var desc = hotCandidatesDescending();
-        if (desc.isEmpty()) {
-            return desc;
+    /**
+     * @param random Random source, e.g. one per thread
+     * @return One of the hottest candidates
+     */
+    public WordElim someHotCandidate(RandomGenerator random) {
+        return randomElement(hottestCandidates(), random);
+    }
+
+    /**
+     * @param metric Metric
+     * @return The candidates that are best by the metric, all equally good
+     */
+    public List<WordElim> hottestCandidates(PartitionStats.Metric metric) {
+        var partitions = partitions(metric);
+        if (partitions.isEmpty()) {
+            return Collections.emptyList();
         }
-        var max = desc.getFirst().eliminated();
-        return desc.stream()
-            .takeWhile(wordElim ->
-                wordElim.eliminated() == max)
+        var best = partitions.getFirst();
+        return partitions.stream()
+            .takeWhile(stats ->
+                metric.best().compare(best, stats) == 0)
+            .map(PartitionStats::wordElim)
             .toList();
     }
 
-    public List<WordElim> hotCandidatesDescending() {
-        return byElimination(solution != null
-            ? hotCandidates(solution, candidates)
-            : averageHotCandidates(candidates)
-        );
+    /**
+     * @param metric Metric
+     * @return How each candidate, as a guess, partitions the candidates, best first
+     */
+    public List<PartitionStats> partitions(PartitionStats.Metric metric) {
+        return cached(metric, -1, () ->
+                partitions()
+                    .sorted(metric.best())
+                    .toList(),
+            List::size);
+    }
+
+    public List<WordElim> hottestCandidates() {
+        var booked = dictionary.book().hottest(this);
+        return booked != null ? booked : cached(Query.HOTTEST, solutionId(), () -> {
+            var ids = dictionary.ids(candidates);
+            return Eliminations.hottest(dictionary, ids, ids, solutionId());
+        }, List::size);
+    }
+
+    /**
+     * Same as {@link #hottestCandidates()}, as far as it gets within the budget.  The search is cached with the
+     * other results for the game's state, so asking again with more budget goes on from where it stopped.
+     *
+     * @param budget Time to search for
+     * @return The hottest candidates so far, see {@link HotSearch.Result#exact()}
+     */
+    public HotSearch.Result hottestCandidates(Duration budget) {
+        var booked = dictionary.book().hottest(this);
+        return booked != null
+            ? new HotSearch.Result(booked, candidates.size(), candidates.size(), true, Duration.ZERO)
+            : hotSearch().run(budget);
+    }
+
+    /**
+     * @return The search for the hottest candidates, shared by games in the same state, so each caller cancels
+     * only its own {@link HotSearch#run(Duration, java.util.function.BooleanSupplier) runs}
+     */
+    public HotSearch hotSearch() {
+        return cached(Query.SEARCH, solutionId(), () ->
+                HotSearch.of(dictionary, dictionary.ids(candidates), solutionId(), letters),
+            HotSearch::weight);
+    }
+
+    /**
+     * Same as the first {@code k} of {@link #hotCandidatesDescending()}, without scoring all of them in full.
+     *
+     * @param k Number of candidates
+     * @return At most {@code k} candidates, most eliminations first, ties in id order
+     */
+    public List<WordElim> topCandidates(int k) {
+        return cached(new Top(k), solutionId(), () -> {
+            var ids = dictionary.ids(candidates);
+            return Eliminations.top(dictionary, ids, ids, solutionId(), k);
+        }, List::size);
+    }
+
+    /**
+     * Normal mode: Any word in the dictionary may be the guess, not just the candidates.  For a secret game,
+     * most guesses are ruled out by a cheap bound without counting their partitions.
+     *
+     * @return The guesses eliminating the most candidates, in id order
+     */
+    public List<WordElim> hottestGuesses() {
+        return cached(Query.HOTTEST_GUESSES, solutionId(), () -> {
+            var guesses = IntStream.range(0, dictionary.size()).toArray();
+            var ids = dictionary.ids(candidates);
+            return solution == null
+                ? Eliminations.hottestAverage(dictionary, guesses, ids)
+                : Eliminations.hottest(dictionary, guesses, ids, solutionId());
+        }, List::size);
+    }
+
+    /**
+     * @return All candidates, most eliminations first, ties in id order
+     */
+    public EliminationTable hotCandidatesDescending() {
+        return cached(Query.DESCENDING, solutionId(), () -> eliminations().descending(), List::size);
+    }
+
+    /**
+     * Same as {@link #hotCandidatesDescending()}, a block at a time as they are scored, on virtual threads.
+     *
+     * @param k Number of best candidates so far in each chunk
+     * @return Publisher of the candidates, scanning them anew for each subscriber
+     */
+    public Flow.Publisher<HotPublisher.Chunk> hotCandidatesPublisher(int k) {
+        return hotCandidatesPublisher(k, Thread::startVirtualThread);
+    }
+
+    /**
+     * @param k        Number of best candidates so far in each chunk
+     * @param executor Executor to scan on
+     * @return Publisher of the candidates, scanning them anew for each subscriber
+     * @see #hotCandidatesPublisher(int)
+     */
+    public Flow.Publisher<HotPublisher.Chunk> hotCandidatesPublisher(int k, Executor executor) {
+        return new HotPublisher(dictionary, dictionary.ids(candidates), solutionId(), letters, k, executor);
+    }
+
+    /**
+     * @return This game in a few dozen bytes, with the candidates, see {@link GameSnapshot}
+     */
+    public byte[] snapshot() {
+        return snapshot(true);
+    }
+
+    /**
+     * @param candidates Whether to include the candidates, so restoring doesn't narrow them again
+     * @return This game in a few dozen bytes, see {@link GameSnapshot}
+     */
+    public byte[] snapshot(boolean candidates) {
+        var buffer = ByteBuffer.allocate(GameSnapshot.size(this, candidates));
+        GameSnapshot.write(this, candidates, buffer);
+        return buffer.array();
     }
 
     public boolean done() {
@@ -183,142 +383,134 @@ public record Game(
             dictionary,
             candidates,
             past,
-            constraints,
-            guesses
+            guesses,
+            feedback,
+            letters
         );
     }
 
     public WordScores wordScores() {
-        var wordElims = hotCandidatesDescending();
-        if (wordElims.isEmpty()) {
+        return cached(Query.SCORES, solutionId(), this::computeWordScores, WordScores::size);
+    }
+
+    /**
+     * For a secret game, the eliminations on average are taken from the partitions, not counted again.
+     */
+    private WordScores computeWordScores() {
+        var partitions = partitions().toArray(PartitionStats[]::new);
+        if (partitions.length == 0) {
             return WordScores.EMPTY;
         }
-        var distribution = distribution();
-        var wordScores = wordElims.stream()
-            .map(elim ->
-                new WordScore(
-                    elim.word(),
-                    distribution.score(elim.word()),
-                    elim.eliminated()
-                ))
-            .toList();
-        return new WordScores(
-            wordScores,
-            wordElims.stream()
-                .mapToInt(WordElim::eliminated)
-                .max()
-                .orElseThrow(),
-            wordScores.stream()
-                .mapToDouble(WordScore::distribution)
-                .max()
-                .orElseThrow()
-        );
+        var table = solution == null
+            ? EliminationTable.descending(
+                dictionary,
+                dictionary.ids(candidates),
+                Arrays.stream(partitions).mapToInt(PartitionStats::eliminated).toArray()
+            )
+            : hotCandidatesDescending();
+        return WordScores.of(table, letters, partitions);
     }
 
-    private Game apply(Word guess, Set<Constraint> guessConstraints) {
+    private Game apply(Word guess, int pattern) {
         if (guess.length() != unitaryLength) {
             throw new IllegalArgumentException("Guess length must be " + unitaryLength + ": " + guess);
         }
-        var newConstraints =
-            mergeConstraints(constraints, guessConstraints);
-        var trimmedCandidates =
-            viable(candidates, newConstraints.toArray(Constraint[]::new));
-        return new Game(
+        if (pattern < 0 || pattern >= Feedback.patterns(unitaryLength)) {
+            throw new IllegalArgumentException("Invalid pattern for length " + unitaryLength + ": " + pattern);
+        }
+        var event = new SolverEvents.Apply();
+        event.begin();
+        var narrowed = narrow(guess, pattern);
+        var game = new Game(
             solution,
             unitaryLength,
             dictionary,
-            trimmedCandidates,
+            narrowed,
             past,
-            newConstraints,
-            add(guess)
+            append(guesses, guess),
+            append(feedback, pattern),
+            letters.narrowed(dictionary, candidates, narrowed)
         );
+        event.end();
+        if (event.shouldCommit()) {
+            var spec = Feedback.spec(pattern, unitaryLength);
+            event.guess = guess.toString();
+            event.feedback = spec;
+            event.constraints = Constraints.parse(guess, spec).size();
+            event.candidatesBefore = candidates.size();
+            event.candidates = narrowed.size();
+            event.guesses = game.guesses.size();
+            event.indexed = indexed();
+            event.commit();
+        }
+        return game;
+    }
+
+    /**
+     * The candidates already match all earlier feedback, so only this one is checked.  Few candidates are
+     * checked one by one, many are masked through the {@link LetterIndex} a word of bits at a time.
+     */
+    private WordSet narrow(Word guess, int pattern) {
+        var compiled = CompiledConstraints.of(guess, pattern);
+        return indexed()
+            ? dictionary.index().viable(candidates, compiled)
+            : candidates.retain(id -> compiled.matches(dictionary.get(id).packed()));
+    }
+
+    private boolean indexed() {
+        return candidates.size() > WordSet.words(dictionary.size());
+    }
+
+    private Stream<PartitionStats> partitions() {
+        var ids = dictionary.ids(candidates);
+        var matrix = dictionary.matrix();
+        SolverCounters.evaluated(ids.length);
+        return Arrays.stream(ids).parallel()
+            .mapToObj(guess -> {
+                var counts = PartitionStats.counts(matrix.patterns());
+                return PartitionStats.of(dictionary.get(guess), guess, ids, matrix, counts);
+            });
+    }
+
+    private Eliminations eliminations() {
+        var ids = dictionary.ids(candidates);
+        return solution == null
+            ? Eliminations.average(dictionary, ids)
+            : Eliminations.against(dictionary, ids, dictionary.id(solution));
+    }
+
+    private <T> T cached(Object query, int solution, Supplier<T> compute, ToIntFunction<T> weight) {
+        var event = new SolverEvents.Query();
+        event.begin();
+        event.cached = true;
+        var result = SolverCache.shared().get(SolverCache.key(query, candidates, solution), () -> {
+            event.cached = false;
+            return compute.get();
+        }, weight);
+        event.end();
+        if (event.shouldCommit()) {
+            event.query = query.toString();
+            event.candidates = candidates.size();
+            event.guesses = guesses.size();
+            event.results = weight.applyAsInt(result);
+            event.commit();
+        }
+        return result;
     }
 
-    private Stream<WordElim> averageHotCandidates(Collection<Word> words) {
-        return words.stream().parallel()
-            .map(candidate ->
-                hotCandidates(candidate, words).collect(
-                    Collectors.toMap(
-                        WordElim::word,
-                        Function.identity()
-                    ))
-            )
-            .reduce(Game::merge)
-            .map(result ->
-                average(result).values())
-            .orElseGet(Collections::emptyList)
-            .stream()
-            .sorted(DESCENDING_ELIMINATION);
-    }
-
-    private Stream<WordElim> hotCandidates(Word solution, Collection<Word> words) {
-        return words.stream()
-            .map(guess ->
-                new WordElim(guess, eliminated(guess, solution)));
-    }
-
-    private int eliminated(Word guess, Word assumingSolution) {
-        Objects.requireNonNull(assumingSolution, "assumingSolution");
-        var wordConstraints = constraintsAgainst(assumingSolution, guess);
-        var combinedConstraints = mergeConstraints(this.constraints, wordConstraints);
-        var remaining = viable(candidates, combinedConstraints.toArray(Constraint[]::new)).size();
-        return candidates.size() - remaining;
+    private int solutionId() {
+        return solution == null ? -1 : dictionary.id(solution);
     }
 
-    private List<Word> add(Word guess) {
-        return Stream.concat(guesses.stream(), Stream.of(guess))
-            .toList();
+    private static <T> List<T> append(List<T> list, T element) {
+        var appended = new ArrayList<T>(list.size() + 1);
+        appended.addAll(list);
+        appended.add(element);
+        return Collections.unmodifiableList(appended);
     }
 
     private static final Random RND = new Random();
 
-    private static final Comparator<WordElim> DESCENDING_ELIMINATION =
-        Comparator.comparing(WordElim::eliminated).reversed();
-
-    private static List<WordElim> byElimination(Stream<WordElim> wordElimStream) {
-        return wordElimStream.sorted(DESCENDING_ELIMINATION)
-            .toList();
-    }
-
-    @SafeVarargs
-    private static int unitaryLength(Collection<Word>... wordses) {
-        return Arrays.stream(wordses)
-            .flatMap(Collection::stream)
-            .distinct()
-            .mapToInt(Word::length)
-            .reduce((l1, l2) -> {
-                if (l1 != l2) {
-                    throw new IllegalStateException("Different lengths detected: " + l1 + " != " + l2);
-                }
-                return l1;
-            }).orElseThrow(() ->
-                new IllegalStateException("No words in collection")
-            );
-    }
-
-    private static List<Word> viable(Collection<Word> candidates, Constraint[] constraints) {
-        List<Word> viable = new ArrayList<>();
-        for (Word word : candidates) {
-            if (viable(constraints, word)) {
-                viable.add(word);
-            }
-        }
-        return viable;
-    }
-
-    private static boolean viable(Constraint[] constraints, Word word) {
-        for (Constraint constraint : constraints) {
-            if (constraint.eliminates(word.letters())) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private static Set<Constraint> providedConstraints(String guess, String spec) {
-        return Constraints.parse(new Word(guess), spec);
-    }
-
     private static List<Constraint> mergeConstraints(Collection<Constraint> c1, Collection<Constraint> c2) {
         Set<Constraint> constraints = new HashSet<>();
         constraints.addAll(c1);
@@ -363,38 +555,25 @@ public record Game(
         );
     }
 
-    private static Map<Word, WordElim> merge(Map<Word, WordElim> m, Map<Word, WordElim> other) {
-        m.keySet()
-            .stream().parallel()
-            .forEach(candidate ->
-                m.merge(
-                    candidate,
-                    other.get(candidate),
-                    WordElim::add
-                ));
-        return m;
+    private static <T> T randomElement(Collection<T> coll) {
+        return randomElement(coll, RND);
     }
 
-    private static Map<Word, WordElim> average(Map<Word, WordElim> result) {
-        return result.entrySet()
-            .stream()
-            .collect(Collectors.toMap(
-                Map.Entry::getKey,
-                entry -> entry.getValue().avg()
-            ));
+    private static <T> T randomElement(Collection<T> coll, RandomGenerator random) {
+        var index = random.nextInt(coll.size());
+        return (coll instanceof List<T> l ? l : new ArrayList<>(coll)).get(index);
     }
 
-    private static Set<Constraint> constraintsAgainst(Word solution, Word guess) {
-        Set<Constraint> constraints = new HashSet<>(guess.length());
-        for (int i = 0; i < guess.length(); i++) {
-            constraints.add(solution.constraintFor(guess.letters()[i], i));
-        }
-        return constraints;
+    private record Top(int k) {
     }
 
-    private static <T> T randomElement(Collection<T> coll) {
-        var index = RND.nextInt(coll.size());
-        return (coll instanceof List<T> l ? l : new ArrayList<>(coll)).get(index);
+    private enum Query {
+        HOTTEST,
+        HOTTEST_GUESSES,
+        DESCENDING,
+        SCORES,
+        DISTRIBUTION,
+        SEARCH
     }
 
     @Override
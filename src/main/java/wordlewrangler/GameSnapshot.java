@@ -0,0 +1,325 @@
+package wordlewrangler;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link Game} in a few dozen bytes, to store or move between processes: The dictionary id, the solution id
+ * for a known game, and each guess as its letters and feedback pattern, as
+ * {@link Feedback#width(int) wide} as the word length needs.  Optionally, the candidates and past solutions,
+ * each as a bitset or as ascending ids, whichever is smaller, so restoring doesn't narrow the candidates
+ * again.  Without them, the guesses are replayed on restore.
+ * <p>
+ * Past solutions not in the dictionary are not written.  They were never candidates.
+ * <p>
+ * Writing goes to a caller's buffer, and reading allocates only the restored game.
+ */
+public final class GameSnapshot {
+
+    /**
+     * @param game       Game
+     * @param candidates Whether to write the candidates, so restoring doesn't narrow them again
+     * @return Bytes needed to write the game
+     */
+    public static int size(Game game, boolean candidates) {
+        var dictionary = game.dictionary();
+        var size = 2 + Long.BYTES + varintSize(game.guesses().size()) +
+                   game.guesses().size() * (letterBytes(dictionary.length()) + Feedback.width(dictionary.length()));
+        if (game.solution() != null) {
+            size += varintSize(dictionary.id(game.solution()));
+        }
+        if (candidates) {
+            size += setSize(game.candidates());
+        }
+        var past = past(game);
+        if (past != null) {
+            size += setSize(past);
+        }
+        return size;
+    }
+
+    /**
+     * @param game       Game
+     * @param candidates Whether to write the candidates, so restoring doesn't narrow them again
+     * @param buffer     Buffer, with at least {@link #size(Game, boolean)} bytes remaining
+     */
+    public static void write(Game game, boolean candidates, ByteBuffer buffer) {
+        var dictionary = game.dictionary();
+        var length = dictionary.length();
+        var past = past(game);
+        buffer.put(VERSION)
+            .put((byte) ((game.solution() == null ? 0 : KNOWN) |
+                         (candidates ? CANDIDATES : 0) |
+                         (past == null ? 0 : PAST)))
+            .putLong(dictionary.id());
+        if (game.solution() != null) {
+            putVarint(buffer, dictionary.id(game.solution()));
+        }
+        putVarint(buffer, game.guesses().size());
+        for (int i = 0; i < game.guesses().size(); i++) {
+            var packed = game.guesses().get(i).packed();
+            for (int b = 0; b < letterBytes(length); b++) {
+                buffer.put((byte) (packed >>> Long.SIZE - Byte.SIZE * (b + 1)));
+            }
+            Feedback.put(buffer, Feedback.width(length), game.feedback().get(i));
+        }
+        if (candidates) {
+            putSet(buffer, game.candidates());
+        }
+        if (past != null) {
+            putSet(buffer, past);
+        }
+    }
+
+    /**
+     * @param buffer Snapshot of a game on an interned dictionary, see {@link Dictionary#of(java.util.Collection)}
+     * @return The game
+     * @throws IllegalArgumentException If the snapshot is invalid, or its dictionary is not loaded
+     */
+    public static Game read(ByteBuffer buffer) {
+        if (buffer.remaining() < 2 + Long.BYTES) {
+            throw new IllegalArgumentException("Not a snapshot, " + buffer.remaining() + " bytes");
+        }
+        var id = buffer.getLong(buffer.position() + 2);
+        var dictionary = Dictionary.interned(id);
+        if (dictionary == null) {
+            throw new IllegalArgumentException("Unknown dictionary: " + Long.toHexString(id));
+        }
+        return read(buffer, dictionary);
+    }
+
+    /**
+     * @param buffer     Snapshot
+     * @param dictionary The dictionary of the game
+     * @return The game
+     * @throws IllegalArgumentException If the snapshot is invalid, or of another dictionary
+     */
+    public static Game read(ByteBuffer buffer, Dictionary dictionary) {
+        try {
+            if (buffer.get() != VERSION) {
+                throw new IllegalArgumentException("Not a snapshot, or not version " + VERSION);
+            }
+            var flags = buffer.get();
+            var id = buffer.getLong();
+            if (id != dictionary.id()) {
+                throw new IllegalArgumentException(
+                    "Snapshot of dictionary " + Long.toHexString(id) + ", not " + dictionary
+                );
+            }
+            var length = dictionary.length();
+            var solution = (flags & KNOWN) == 0 ? null : dictionary.get(id(buffer, dictionary));
+            var count = count(buffer, buffer.remaining() / (letterBytes(length) + Feedback.width(length)));
+            var guesses = new Word[count];
+            var feedback = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                var packed = 0L;
+                for (int b = 0; b < letterBytes(length); b++) {
+                    packed |= (buffer.get() & 0xffL) << Long.SIZE - Byte.SIZE * (b + 1);
+                }
+                guesses[i] = new Word(packed & -1L << Feedback.LENGTH_BITS | length);
+                feedback[i] = Feedback.get(buffer, Feedback.width(length));
+                if (feedback[i] < 0 || feedback[i] >= dictionary.patterns()) {
+                    throw new IllegalArgumentException("Invalid pattern for length " + length + ": " + feedback[i]);
+                }
+            }
+            var candidates = (flags & CANDIDATES) == 0 ? null : getSet(buffer, dictionary);
+            Set<Word> past = (flags & PAST) == 0 ? Set.of() : getSet(buffer, dictionary);
+            if (candidates != null) {
+                return new Game(
+                    solution,
+                    length,
+                    dictionary,
+                    candidates,
+                    past,
+                    List.of(guesses),
+                    List.of(feedback)
+                );
+            }
+            var game = new Game(
+                solution,
+                length,
+                dictionary,
+                past.isEmpty() ? WordSet.all(dictionary) : WordSet.all(dictionary).without(past),
+                past,
+                List.of(),
+                List.of()
+            );
+            for (int i = 0; i < count; i++) {
+                game = game.tried(guesses[i], feedback[i]);
+            }
+            return game;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated snapshot", e);
+        }
+    }
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * @return The past solutions in the dictionary, or null if there are none
+     */
+    private static WordSet past(Game game) {
+        if (game.past().isEmpty()) {
+            return null;
+        }
+        if (game.past() instanceof WordSet set && set.dictionary() == game.dictionary()) {
+            return set;
+        }
+        var dictionary = game.dictionary();
+        var bits = new long[WordSet.words(dictionary.size())];
+        for (Word word : game.past()) {
+            var id = dictionary.id(word);
+            if (id >= 0) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        var past = new WordSet(dictionary, bits);
+        return past.isEmpty() ? null : past;
+    }
+
+    private static int letterBytes(int length) {
+        return (length * Feedback.BITS + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    private static int setSize(WordSet set) {
+        return 1 + (bits(set) ? bitsSize(set) : idsSize(set));
+    }
+
+    /**
+     * @return Whether the set is smaller as a bitset than as ids, which take at least a byte each
+     */
+    private static boolean bits(WordSet set) {
+        return bitsSize(set) <= set.size() || bitsSize(set) <= idsSize(set);
+    }
+
+    private static int bitsSize(WordSet set) {
+        return WordSet.words(set.dictionary().size()) * Long.BYTES;
+    }
+
+    private static int idsSize(WordSet set) {
+        var size = varintSize(set.size());
+        var previous = -1;
+        for (int i = 0; i < WordSet.words(set.dictionary().size()); i++) {
+            for (var bits = set.bits(i); bits != 0; bits &= bits - 1) {
+                var id = i * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                size += varintSize(id - previous - 1);
+                previous = id;
+            }
+        }
+        return size;
+    }
+
+    private static void putSet(ByteBuffer buffer, WordSet set) {
+        var words = WordSet.words(set.dictionary().size());
+        if (bits(set)) {
+            buffer.put(BITS);
+            for (int i = 0; i < words; i++) {
+                buffer.putLong(set.bits(i));
+            }
+        } else {
+            buffer.put(IDS);
+            putVarint(buffer, set.size());
+            var previous = -1;
+            for (int i = 0; i < words; i++) {
+                for (var bits = set.bits(i); bits != 0; bits &= bits - 1) {
+                    var id = i * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    putVarint(buffer, id - previous - 1);
+                    previous = id;
+                }
+            }
+        }
+    }
+
+    private static WordSet getSet(ByteBuffer buffer, Dictionary dictionary) {
+        var size = dictionary.size();
+        var bits = new long[WordSet.words(size)];
+        switch (buffer.get()) {
+            case BITS -> {
+                for (int i = 0; i < bits.length; i++) {
+                    bits[i] = buffer.getLong();
+                }
+                if (size % 64 != 0 && bits[bits.length - 1] >>> size != 0) {
+                    throw new IllegalArgumentException("Ids beyond " + size + " words");
+                }
+            }
+            case IDS -> {
+                var count = count(buffer, Math.min(size, buffer.remaining()));
+                var id = -1;
+                for (int i = 0; i < count; i++) {
+                    id += getVarint(buffer) + 1;
+                    if (id < 0 || id >= size) {
+                        throw new IllegalArgumentException("Id beyond " + size + " words: " + id);
+                    }
+                    bits[id >>> 6] |= 1L << id;
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown set form");
+        }
+        return new WordSet(dictionary, bits);
+    }
+
+    private static int id(ByteBuffer buffer, Dictionary dictionary) {
+        var id = getVarint(buffer);
+        if (id >= dictionary.size()) {
+            throw new IllegalArgumentException("Id beyond " + dictionary.size() + " words: " + id);
+        }
+        return id;
+    }
+
+    /**
+     * @param max Most items the rest of the snapshot can hold
+     * @return Number of items to read
+     */
+    private static int count(ByteBuffer buffer, int max) {
+        var count = getVarint(buffer);
+        if (count > max) {
+            throw new IllegalArgumentException("Count beyond " + max + ": " + count);
+        }
+        return count;
+    }
+
+    private static int varintSize(int value) {
+        return (Integer.SIZE - Integer.numberOfLeadingZeros(value | 1) + 6) / 7;
+    }
+
+    /**
+     * Seven bits at a time, least significant first, the high bit set on all but the last byte.
+     */
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7f) != 0) {
+            buffer.put((byte) (value & 0x7f | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        var value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            var b = buffer.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid varint");
+    }
+
+    private static final byte VERSION = 1;
+
+    private static final byte KNOWN = 1;
+
+    private static final byte CANDIDATES = 2;
+
+    private static final byte PAST = 4;
+
+    private static final byte BITS = 1;
+
+    private static final byte IDS = 2;
+}
@@ -0,0 +1,89 @@
+package wordlewrangler;
+
+import java.util.Arrays;
+
+/**
+ * Cheap upper bounds on how a guess can partition a set of candidates.  At each position, a guess letter can
+ * only be green if some candidate has it there, yellow if some candidate has it elsewhere, and grey unless all
+ * candidates have it there.  The number of buckets is at most the product of the colours possible at each
+ * position, and the candidates spread evenly over that many buckets bound the eliminations.
+ */
+final class GuessBounds {
+
+    static GuessBounds of(Dictionary dictionary, int[] candidates) {
+        var length = dictionary.length();
+        var present = new int[length];
+        var fixed = new int[length];
+        Arrays.fill(fixed, -1);
+        var first = true;
+        for (int candidate : candidates) {
+            var word = dictionary.get(candidate);
+            for (int position = 0; position < length; position++) {
+                var letter = word.code(position);
+                present[position] |= 1 << letter;
+                if (first) {
+                    fixed[position] = letter;
+                } else if (fixed[position] != letter) {
+                    fixed[position] = -1;
+                }
+            }
+            first = false;
+        }
+        var elsewhere = new int[length];
+        for (int position = 0; position < length; position++) {
+            for (int other = 0; other < length; other++) {
+                if (other != position) {
+                    elsewhere[position] |= present[other];
+                }
+            }
+        }
+        return new GuessBounds(candidates.length, present, elsewhere, fixed);
+    }
+
+    private final int candidates;
+
+    private final int[] present;
+
+    private final int[] elsewhere;
+
+    private final int[] fixed;
+
+    private GuessBounds(int candidates, int[] present, int[] elsewhere, int[] fixed) {
+        this.candidates = candidates;
+        this.present = present;
+        this.elsewhere = elsewhere;
+        this.fixed = fixed;
+    }
+
+    /**
+     * @param guess Packed guess
+     * @return Most patterns the guess can give
+     */
+    int buckets(long guess) {
+        var buckets = 1;
+        for (int position = 0; position < present.length; position++) {
+            var letter = Feedback.letter(guess, position);
+            var colours = (present[position] >>> letter & 1) +
+                          (elsewhere[position] >>> letter & 1) +
+                          (fixed[position] == letter ? 0 : 1);
+            buckets *= colours;
+        }
+        return Math.min(buckets, candidates);
+    }
+
+    /**
+     * @param guess Packed guess
+     * @return Most candidates the guess can eliminate on average, as rounded by
+     * {@link PartitionStats#eliminated(long, long)}
+     */
+    int eliminated(long guess) {
+        var buckets = buckets(guess);
+        if (buckets == 0) {
+            return 0;
+        }
+        var size = candidates / buckets;
+        var larger = candidates % buckets;
+        var sumOfSquares = (long) larger * (size + 1) * (size + 1) + (long) (buckets - larger) * size * size;
+        return PartitionStats.eliminated(candidates, sumOfSquares);
+    }
+}
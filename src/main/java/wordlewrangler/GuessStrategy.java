@@ -0,0 +1,148 @@
+package wordlewrangler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * How to pick the next guess.  A strategy finds the best guesses, all equally good, and one of them is picked
+ * at random.  Each strategy declares its {@link Complexity}, so a caller under load can pick a cheap one.
+ */
+public interface GuessStrategy {
+
+    /**
+     * @param game Game
+     * @return The best guesses, all equally good, or an empty list if there are no candidates
+     */
+    List<Word> best(Game game);
+
+    Complexity complexity();
+
+    default Word guess(Game game, RandomGenerator random) {
+        var best = best(game);
+        if (best.isEmpty()) {
+            throw new IllegalStateException("No candidates left: " + game);
+        }
+        return best.get(random.nextInt(best.size()));
+    }
+
+    /**
+     * Cost in the number of candidates, cheapest first.
+     */
+    enum Complexity {
+
+        /**
+         * One pass over the candidates.
+         */
+        LINEAR,
+
+        /**
+         * Every candidate as a guess, against every candidate as a solution.
+         */
+        QUADRATIC
+    }
+
+    enum Builtin implements GuessStrategy {
+
+        /**
+         * Any candidate.
+         */
+        RANDOM(Complexity.LINEAR) {
+            @Override
+            public List<Word> best(Game game) {
+                return List.copyOf(game.candidates());
+            }
+        },
+
+        /**
+         * The candidates with the most common letters in each position, see {@link LetterFrequencies}.
+         */
+        LETTER_FREQUENCY(Complexity.LINEAR) {
+            @Override
+            public List<Word> best(Game game) {
+                var letters = game.letters();
+                List<Word> best = new ArrayList<>();
+                var max = Double.NEGATIVE_INFINITY;
+                for (Word candidate : game.candidates()) {
+                    var score = letters.score(candidate);
+                    if (score > max) {
+                        best.clear();
+                        max = score;
+                    }
+                    if (score == max) {
+                        best.add(candidate);
+                    }
+                }
+                return best;
+            }
+        },
+
+        /**
+         * The candidates eliminating the most candidates on average, as in {@link Game#hottestCandidates()} for
+         * a secret game.  Known solutions are ignored.
+         */
+        MAX_AVERAGE_ELIMINATION(Complexity.QUADRATIC) {
+            @Override
+            public List<Word> best(Game game) {
+                if (game.solution() == null) {
+                    return words(game.hottestCandidates());
+                }
+                var ids = game.dictionary().ids(game.candidates());
+                return words(Eliminations.hottest(game.dictionary(), ids, ids, -1));
+            }
+        },
+
+        /**
+         * The candidates with the most informative feedback, see {@link PartitionStats.Metric#ENTROPY}.
+         */
+        ENTROPY(Complexity.QUADRATIC) {
+            @Override
+            public List<Word> best(Game game) {
+                return words(game.hottestCandidates(PartitionStats.Metric.ENTROPY));
+            }
+        },
+
+        /**
+         * The candidates leaving the fewest candidates in the worst case, see
+         * {@link PartitionStats.Metric#LARGEST}.
+         */
+        MINIMAX(Complexity.QUADRATIC) {
+            @Override
+            public List<Word> best(Game game) {
+                return words(game.hottestCandidates(PartitionStats.Metric.LARGEST));
+            }
+        },
+
+        /**
+         * The candidates with the best blend of letter frequency and eliminations, see {@link WordScores#ratings()}.
+         */
+        BLENDED(Complexity.QUADRATIC) {
+            @Override
+            public List<Word> best(Game game) {
+                var scores = game.wordScores();
+                List<Word> best = new ArrayList<>();
+                for (int i = 0; i < scores.size() && Double.compare(scores.rating(i), scores.rating(0)) == 0; i++) {
+                    best.add(scores.rated(i).word());
+                }
+                return best;
+            }
+        };
+
+        private final Complexity complexity;
+
+        Builtin(Complexity complexity) {
+            this.complexity = complexity;
+        }
+
+        @Override
+        public Complexity complexity() {
+            return complexity;
+        }
+
+        private static List<Word> words(List<WordElim> wordElims) {
+            return wordElims.stream()
+                .map(WordElim::word)
+                .toList();
+        }
+    }
+}
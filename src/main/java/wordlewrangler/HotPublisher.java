@@ -0,0 +1,148 @@
+package wordlewrangler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.stream.IntStream;
+
+/**
+ * Streaming {@link Game#hotCandidatesDescending()}: Each subscriber gets its own scan of the candidates, most
+ * promising first by their {@link HotSearch#byLetters(Dictionary, int[], LetterFrequencies) letters}, and a
+ * {@link Chunk} as each block of them is scored, with the best {@code k} so far.
+ * <p>
+ * Delivery goes through a {@link SubmissionPublisher} with room for a few chunks, on virtual threads, so the
+ * scan waits while the subscriber is behind.  When the subscriber cancels, the scan stops after the block in
+ * progress.
+ */
+public final class HotPublisher implements Flow.Publisher<HotPublisher.Chunk> {
+
+    private final Dictionary dictionary;
+
+    private final int[] candidates;
+
+    private final int solution;
+
+    private final LetterFrequencies letters;
+
+    private final int k;
+
+    private final Executor executor;
+
+    /**
+     * @param dictionary Dictionary
+     * @param candidates Candidate ids
+     * @param solution   Solution id, or -1 to average over the candidates
+     * @param letters    Letter frequencies among the candidates
+     * @param k          Number of best guesses in each chunk
+     * @param executor   Executor to scan on, one task per subscriber
+     */
+    HotPublisher(
+        Dictionary dictionary,
+        int[] candidates,
+        int solution,
+        LetterFrequencies letters,
+        int k,
+        Executor executor
+    ) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Invalid k: " + k);
+        }
+        this.dictionary = dictionary;
+        this.candidates = candidates;
+        this.solution = solution;
+        this.letters = letters;
+        this.k = k;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a scan for the subscriber.  If the executor turns it away, the subscriber gets the
+     * {@link RejectedExecutionException} as its error.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Chunk> subscriber) {
+        var publisher = new SubmissionPublisher<Chunk>(Thread::startVirtualThread, BUFFER_SIZE);
+        publisher.subscribe(subscriber);
+        try {
+            executor.execute(() -> scan(publisher));
+        } catch (RejectedExecutionException e) {
+            publisher.closeExceptionally(e);
+        }
+    }
+
+    private void scan(SubmissionPublisher<Chunk> publisher) {
+        try {
+            var order = HotSearch.byLetters(dictionary, candidates, letters);
+            if (order.length == 0) {
+                publisher.submit(new Chunk(List.of(), List.of(), 0, 0));
+                publisher.close();
+                return;
+            }
+            var matrix = dictionary.matrix();
+            var eliminated = new int[order.length];
+            var top = new Eliminations.Heap(Math.max(k, 1));
+            for (int from = 0; from < order.length && publisher.hasSubscribers(); from += Eliminations.BLOCK_SIZE) {
+                var to = Math.min(from + Eliminations.BLOCK_SIZE, order.length);
+                var range = IntStream.range(from, to);
+                ((long) candidates.length * (to - from) >= Eliminations.PARALLEL_THRESHOLD ? range.parallel() : range)
+                    .forEach(i -> {
+                        var counts = PartitionStats.counts(matrix.patterns());
+                        eliminated[i] = Eliminations.eliminated(matrix, order[i], candidates, solution, counts, 0);
+                    });
+                SolverCounters.evaluated(to - from);
+                for (int i = from; i < to && k > 0; i++) {
+                    top.offer(Eliminations.Heap.key(eliminated[i], order[i]));
+                }
+                publisher.submit(new Chunk(
+                    EliminationTable.unordered(
+                        dictionary,
+                        Arrays.copyOfRange(order, from, to),
+                        Arrays.copyOfRange(eliminated, from, to)
+                    ),
+                    k == 0 ? List.of() : top(top),
+                    to,
+                    order.length
+                ));
+            }
+            publisher.close();
+        } catch (Exception e) {
+            publisher.closeExceptionally(e);
+        }
+    }
+
+    private List<WordElim> top(Eliminations.Heap heap) {
+        var keys = heap.descending();
+        var ids = new int[keys.length];
+        var values = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ids[i] = Eliminations.Heap.index(keys[i]);
+            values[i] = Eliminations.Heap.value(keys[i]);
+        }
+        return EliminationTable.descending(dictionary, ids, values);
+    }
+
+    /**
+     * Chunks a subscriber may fall behind by before the scan waits.
+     */
+    private static final int BUFFER_SIZE = 4;
+
+    /**
+     * @param scored    Guesses scored in this chunk, most eliminations first, ties in id order
+     * @param top       The best guesses scored so far, at most {@code k}, most eliminations first, ties in id
+     *                  order
+     * @param evaluated Guesses scored so far
+     * @param total     Guesses to score
+     */
+    public record Chunk(List<WordElim> scored, List<WordElim> top, int evaluated, int total) {
+
+        /**
+         * @return Whether this is the last chunk, with {@link #top()} final
+         */
+        public boolean last() {
+            return evaluated == total;
+        }
+    }
+}
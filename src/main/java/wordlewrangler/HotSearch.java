@@ -0,0 +1,271 @@
+package wordlewrangler;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Anytime search for the {@link Game#hottestCandidates() hottest candidates}, to answer within a budget.  The
+ * candidates are evaluated as guesses in blocks, most promising first: By their most common letters, and in a
+ * secret game by their {@link GuessBounds bound} before that.  A guess is abandoned as soon as it falls behind
+ * the best so far.  Each {@link #run(Duration) run} goes on until the deadline, or until its caller cancels
+ * it, and returns the ranking so far.  The next run picks up where it left off, whoever's it is.
+ * <p>
+ * The ranking is exact once all candidates are evaluated, or in a secret game, once the rest are bound to
+ * eliminate fewer than the best so far.  Its hottest are then the same as {@link Game#hottestCandidates()}.
+ * <p>
+ * One run at a time: Another run waits for it, but not past its own deadline, when it returns the ranking
+ * from the last run.
+ */
+public final class HotSearch {
+
+    /**
+     * @param dictionary Dictionary
+     * @param candidates Candidate ids
+     * @param solution   Solution id, or -1 to average over the candidates
+     * @param letters    Letter frequencies among the candidates
+     * @return A search, nothing evaluated yet
+     */
+    static HotSearch of(Dictionary dictionary, int[] candidates, int solution, LetterFrequencies letters) {
+        var byLetters = byLetters(dictionary, candidates, letters);
+        if (solution >= 0) {
+            return new HotSearch(dictionary, candidates, solution, byLetters, null);
+        }
+        var packed = dictionary.packed();
+        var bounds = GuessBounds.of(dictionary, candidates);
+        var byBounds = new long[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            byBounds[i] = (long) -bounds.eliminated(packed[byLetters[i]]) << 32 | i;
+        }
+        Arrays.sort(byBounds);
+        var order = new int[candidates.length];
+        var bound = new int[candidates.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = byLetters[(int) byBounds[i]];
+            bound[i] = -(int) (byBounds[i] >> 32);
+        }
+        return new HotSearch(dictionary, candidates, solution, order, bound);
+    }
+
+    /**
+     * @param dictionary Dictionary
+     * @param candidates Candidate ids
+     * @param letters    Letter frequencies among the candidates
+     * @return The candidates, those sharing the most letters with the others at the same positions first
+     */
+    static int[] byLetters(Dictionary dictionary, int[] candidates, LetterFrequencies letters) {
+        var packed = dictionary.packed();
+        var keys = new long[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            keys[i] = (long) -letters.sum(packed[candidates[i]]) << 32 | i;
+        }
+        Arrays.sort(keys);
+        var order = new int[candidates.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = candidates[(int) keys[i]];
+        }
+        return order;
+    }
+
+    private final Dictionary dictionary;
+
+    private final int[] candidates;
+
+    private final int solution;
+
+    /**
+     * Guess ids, in the order to evaluate them.
+     */
+    private final int[] order;
+
+    /**
+     * Most each guess can eliminate, in the same order and descending, or null against a solution.
+     */
+    private final int[] bound;
+
+    /**
+     * Eliminations by each guess, in the same order, or -1 if it fell behind the best so far.
+     */
+    private final int[] eliminated;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int evaluated;
+
+    private int max = -1;
+
+    private long elapsed;
+
+    private volatile Result latest;
+
+    private HotSearch(Dictionary dictionary, int[] candidates, int solution, int[] order, int[] bound) {
+        this.dictionary = dictionary;
+        this.candidates = candidates;
+        this.solution = solution;
+        this.order = order;
+        this.bound = bound;
+        this.eliminated = new int[order.length];
+        this.latest = result();
+    }
+
+    /**
+     * @param budget Time to run for
+     * @return The ranking so far
+     * @see #run(Duration, BooleanSupplier)
+     */
+    public Result run(Duration budget) {
+        return run(budget, () -> false);
+    }
+
+    /**
+     * Evaluates more guesses until the ranking is exact, the deadline passes, or the run is cancelled or its
+     * thread interrupted.  The deadline and cancellation are checked between blocks, so a run may overshoot
+     * them by the time a block takes.  Any positive budget evaluates at least one block, unless cancelled, so
+     * that runs always make progress.
+     * <p>
+     * The search may be shared, so cancelling is by caller: It stops this run only, and another run waiting
+     * for it goes on from where it stopped.
+     *
+     * @param budget    Time to run for
+     * @param cancelled Whether the caller has cancelled the run
+     * @return The ranking so far
+     */
+    public Result run(Duration budget, BooleanSupplier cancelled) {
+        var start = System.nanoTime();
+        var deadline = start + nanos(budget);
+        try {
+            if (!lock.tryLock(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                return latest;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return latest;
+        }
+        try {
+            var first = budget.isPositive();
+            while (!exact() &&
+                   (first || System.nanoTime() < deadline) &&
+                   !cancelled.getAsBoolean() &&
+                   !Thread.currentThread().isInterrupted()) {
+                first = false;
+                evaluate(Math.min(evaluated + Eliminations.BLOCK_SIZE, order.length));
+            }
+            elapsed += System.nanoTime() - start;
+            return latest = result();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The ranking as of the last run
+     */
+    public Result latest() {
+        return latest;
+    }
+
+    /**
+     * @return Weight in the {@link SolverCache}: The candidates, their order, bounds and eliminations, and the
+     * ranking of at most as many
+     */
+    int weight() {
+        return candidates.length * 5;
+    }
+
+    private boolean exact() {
+        return evaluated == order.length || bound != null && bound[evaluated] < max;
+    }
+
+    private void evaluate(int to) {
+        var from = evaluated;
+        var matrix = dictionary.matrix();
+        if ((long) candidates.length * (to - from) >= Eliminations.PARALLEL_THRESHOLD) {
+            var floor = new AtomicInteger(Math.max(max, 0));
+            IntStream.range(from, to).parallel()
+                .forEach(i -> {
+                    var counts = PartitionStats.counts(matrix.patterns());
+                    var value = Eliminations.eliminated(matrix, order[i], candidates, solution, counts, floor.get());
+                    eliminated[i] = value;
+                    floor.accumulateAndGet(value, Math::max);
+                });
+        } else {
+            var floor = Math.max(max, 0);
+            var counts = PartitionStats.counts(matrix.patterns());
+            for (int i = from; i < to; i++) {
+                eliminated[i] = Eliminations.eliminated(matrix, order[i], candidates, solution, counts, floor);
+                floor = Math.max(floor, eliminated[i]);
+            }
+        }
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, eliminated[i]);
+        }
+        SolverCounters.evaluated(to - from);
+        evaluated = to;
+    }
+
+    /**
+     * @return The guesses evaluated in full so far, ranked, ties in id order
+     */
+    private Result result() {
+        var ids = new int[evaluated];
+        var values = new int[evaluated];
+        var count = 0;
+        for (int i = 0; i < evaluated; i++) {
+            if (eliminated[i] >= 0) {
+                ids[count] = order[i];
+                values[count++] = eliminated[i];
+            }
+        }
+        return new Result(
+            EliminationTable.unordered(dictionary, Arrays.copyOf(ids, count), Arrays.copyOf(values, count)),
+            evaluated,
+            order.length,
+            exact(),
+            Duration.ofNanos(elapsed)
+        );
+    }
+
+    private static long nanos(Duration budget) {
+        return budget.isNegative() ? 0L
+            : budget.compareTo(MAX_BUDGET) < 0 ? budget.toNanos()
+                : MAX_BUDGET.toNanos();
+    }
+
+    /**
+     * Enough for any search, and far from overflowing a deadline.
+     */
+    private static final Duration MAX_BUDGET = Duration.ofDays(365);
+
+    /**
+     * @param ranking   The guesses evaluated in full, most eliminations first, ties in id order
+     * @param evaluated Number of guesses evaluated, including those abandoned as they fell behind
+     * @param total     Number of guesses to evaluate
+     * @param exact     Whether the hottest of the ranking are the hottest of all
+     * @param elapsed   Time spent on all runs so far
+     */
+    public record Result(List<WordElim> ranking, int evaluated, int total, boolean exact, Duration elapsed) {
+
+        /**
+         * @return The guesses with the most eliminations so far, in id order
+         */
+        public List<WordElim> hottest() {
+            return ranking.isEmpty()
+                ? List.of()
+                : ranking.stream()
+                    .takeWhile(elim -> elim.eliminated() == ranking.getFirst().eliminated())
+                    .toList();
+        }
+
+        /**
+         * @return Share of the guesses evaluated
+         */
+        public double progress() {
+            return total == 0 ? 1d : 1d * evaluated / total;
+        }
+    }
+}
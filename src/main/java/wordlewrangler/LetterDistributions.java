@@ -16,7 +16,7 @@ public record LetterDistributions(List<LetterDistribution> distributions) {
     public double score(Word word) {
         double sum = 0d;
         for (int i = 0; i < distributions.size(); i++) {
-            sum += score(i, word.letters()[i]);
+            sum += score(i, word.letter(i));
         }
         return sum;
     }
@@ -0,0 +1,178 @@
+package wordlewrangler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * How often each letter occurs among the candidates: At each position, and anywhere in the word, counted once
+ * per word.  Dense tables by position and {@link Feedback#ALPHABET letter code}, so looking up a letter is a
+ * single array access.
+ * <p>
+ * A game keeps its frequencies as it goes.  When a guess narrows the candidates, the removed words are
+ * subtracted, or the remaining ones counted anew if they are fewer.
+ */
+public final class LetterFrequencies {
+
+    static LetterFrequencies of(Dictionary dictionary, WordSet candidates) {
+        var counts = new int[dictionary.length()][LETTERS];
+        var present = new int[LETTERS];
+        for (int i = 0; i < WordSet.words(dictionary.size()); i++) {
+            for (var bits = candidates.bits(i); bits != 0; bits &= bits - 1) {
+                add(counts, present, dictionary.get(i * Long.SIZE + Long.numberOfTrailingZeros(bits)).packed(), 1);
+            }
+        }
+        return new LetterFrequencies(counts, present, candidates.size());
+    }
+
+    private final int[][] counts;
+
+    private final int[] present;
+
+    private final int total;
+
+    private LetterFrequencies(int[][] counts, int[] present, int total) {
+        this.counts = counts;
+        this.present = present;
+        this.total = total;
+    }
+
+    /**
+     * @param dictionary Dictionary
+     * @param before     Candidates these frequencies are for
+     * @param after      Some of the candidates
+     * @return Frequencies for the remaining candidates
+     */
+    LetterFrequencies narrowed(Dictionary dictionary, WordSet before, WordSet after) {
+        if (after == before) {
+            return this;
+        }
+        if (after.size() < before.size() - after.size()) {
+            return of(dictionary, after);
+        }
+        var counts = Arrays.stream(this.counts).map(int[]::clone).toArray(int[][]::new);
+        var present = this.present.clone();
+        for (int i = 0; i < WordSet.words(dictionary.size()); i++) {
+            for (var removed = before.bits(i) & ~after.bits(i); removed != 0; removed &= removed - 1) {
+                add(counts, present, dictionary.get(i * Long.SIZE + Long.numberOfTrailingZeros(removed)).packed(), -1);
+            }
+        }
+        return new LetterFrequencies(counts, present, after.size());
+    }
+
+    /**
+     * @return Number of candidates
+     */
+    public int total() {
+        return total;
+    }
+
+    /**
+     * @param position Position
+     * @param c        Letter
+     * @return Number of candidates with the letter at the position
+     */
+    public int count(int position, char c) {
+        var code = Feedback.index(c);
+        return code < 0 ? 0 : counts[position][code];
+    }
+
+    /**
+     * @param c Letter
+     * @return Number of candidates with the letter anywhere
+     */
+    public int present(char c) {
+        var code = Feedback.index(c);
+        return code < 0 ? 0 : present[code];
+    }
+
+    /**
+     * @param position Position
+     * @param c        Letter
+     * @return Share of the candidates with the letter at the position
+     */
+    public double score(int position, char c) {
+        return total == 0 ? 0d : 1.0d * count(position, c) / total;
+    }
+
+    /**
+     * @param word Word
+     * @return Sum of the {@link #score(int, char) scores} of its letters
+     */
+    public double score(Word word) {
+        if (total == 0) {
+            return 0d;
+        }
+        var packed = word.packed();
+        var sum = 0d;
+        for (int position = 0; position < counts.length; position++) {
+            sum += 1.0d * counts[position][Feedback.letter(packed, position)] / total;
+        }
+        return sum;
+    }
+
+    /**
+     * @param packed Packed word
+     * @return Candidates sharing each letter with the word at its position, summed over the positions
+     */
+    int sum(long packed) {
+        var sum = 0;
+        for (int position = 0; position < counts.length; position++) {
+            sum += counts[position][Feedback.letter(packed, position)];
+        }
+        return sum;
+    }
+
+    /**
+     * @return The letters at each position, most common first
+     */
+    public LetterDistributions distributions() {
+        return new LetterDistributions(
+            IntStream.range(0, counts.length)
+                .mapToObj(position -> {
+                    List<LetterCount> letterCounts = new ArrayList<>();
+                    for (int code = 0; code < LETTERS; code++) {
+                        if (counts[position][code] > 0) {
+                            letterCounts.add(new LetterCount(Feedback.letter(code), counts[position][code]));
+                        }
+                    }
+                    letterCounts.sort(Comparator.<LetterCount>naturalOrder().reversed());
+                    return new LetterDistribution(position, List.copyOf(letterCounts));
+                })
+                .toList());
+    }
+
+    private static void add(int[][] counts, int[] present, long packed, int sign) {
+        var letters = 0;
+        for (int position = 0; position < counts.length; position++) {
+            var code = Feedback.letter(packed, position);
+            counts[position][code] += sign;
+            letters |= 1 << code;
+        }
+        for (; letters != 0; letters &= letters - 1) {
+            present[Integer.numberOfTrailingZeros(letters)] += sign;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || o instanceof LetterFrequencies other &&
+                            total == other.total &&
+                            Arrays.equals(present, other.present) &&
+                            Arrays.deepEquals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * total + Arrays.hashCode(present);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + total + "]";
+    }
+
+    private static final int LETTERS = Feedback.ALPHABET.length();
+}
@@ -0,0 +1,100 @@
+package wordlewrangler;
+
+/**
+ * Bitsets over a {@link Dictionary}: The words with a given letter at a given position, and the words with
+ * at least a given number of a letter.  A constraint state becomes a few ANDs and ANDNOTs over these.
+ */
+final class LetterIndex {
+
+    static LetterIndex of(Dictionary dictionary) {
+        var words = WordSet.words(dictionary.size());
+        var length = dictionary.length();
+        var positions = new long[length * LETTERS][words];
+        var counts = new long[LETTERS * length][words];
+        var letterCounts = new int[LETTERS];
+        for (int id = 0; id < dictionary.size(); id++) {
+            var packed = dictionary.get(id).packed();
+            for (int position = 0; position < length; position++) {
+                var letter = Feedback.letter(packed, position);
+                positions[position * LETTERS + letter][id >>> 6] |= 1L << id;
+                counts[letter * length + letterCounts[letter]++][id >>> 6] |= 1L << id;
+            }
+            for (int position = 0; position < length; position++) {
+                letterCounts[Feedback.letter(packed, position)] = 0;
+            }
+        }
+        return new LetterIndex(dictionary, length, positions, counts);
+    }
+
+    private final Dictionary dictionary;
+
+    private final int length;
+
+    private final long[][] positions;
+
+    private final long[][] counts;
+
+    private LetterIndex(Dictionary dictionary, int length, long[][] positions, long[][] counts) {
+        this.dictionary = dictionary;
+        this.length = length;
+        this.positions = positions;
+        this.counts = counts;
+    }
+
+    /**
+     * Same verdicts as {@link CompiledConstraints#matches(long)}, for all candidates at once.
+     *
+     * @param candidates  Candidates
+     * @param constraints Constraints
+     * @return The candidates matching the constraints
+     */
+    WordSet viable(WordSet candidates, CompiledConstraints constraints) {
+        if (constraints.length() != length) {
+            throw new IllegalArgumentException("Constraints for length " + constraints.length() + ", not " + length);
+        }
+        var bits = candidates.bits();
+        for (int position = 0; position < length; position++) {
+            var allowed = constraints.allowed(position);
+            if (allowed == 0) {
+                return new WordSet(dictionary, new long[bits.length]);
+            }
+            if ((constraints.exact() >>> position & 1) != 0) {
+                and(bits, at(position, Integer.numberOfTrailingZeros(allowed)));
+            } else {
+                for (int excluded = ~allowed; excluded != 0; excluded &= excluded - 1) {
+                    andNot(bits, at(position, Integer.numberOfTrailingZeros(excluded)));
+                }
+            }
+        }
+        var limits = constraints.limits();
+        for (int i = 0; i < limits.length; i += 3) {
+            and(bits, atLeast(limits[i], limits[i + 1]));
+            if (limits[i + 2] < length) {
+                andNot(bits, atLeast(limits[i], limits[i + 2] + 1));
+            }
+        }
+        return new WordSet(dictionary, bits);
+    }
+
+    long[] at(int position, int letter) {
+        return positions[position * LETTERS + letter];
+    }
+
+    long[] atLeast(int letter, int count) {
+        return counts[letter * length + count - 1];
+    }
+
+    static void and(long[] bits, long[] mask) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= mask[i];
+        }
+    }
+
+    static void andNot(long[] bits, long[] mask) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= ~mask[i];
+        }
+    }
+
+    private static final int LETTERS = Feedback.ALPHABET.length();
+}
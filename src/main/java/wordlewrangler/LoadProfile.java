@@ -0,0 +1,165 @@
+import module java.base;
+import module java.net.http;
+import wordlewrangler.Dictionary;
+import wordlewrangler.Feedback;
+import wordlewrangler.SolverServer;
+import wordlewrangler.Word;
+
+/**
+ * Plays secret games against a {@link SolverServer} on each word list, with many clients on virtual threads,
+ * each guessing the hottest candidate until done.  Prints throughput of solved games, failures, and latency by
+ * endpoint.
+ * <p>
+ * Arguments: Clients, seconds per word list, scoring threads, word lists.
+ */
+void main(String[] args) throws Exception {
+    if (System.getProperty(SolverServer.NO_DELAY_PROPERTY) == null) {
+        System.setProperty(SolverServer.NO_DELAY_PROPERTY, "true");
+    }
+    var clients = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+    var seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    var threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+    var paths = args.length > 3
+        ? Arrays.stream(args, 3, args.length).map(Path::of).toList()
+        : Stream.of("words-expanded.txt", "words.txt", "wordsish.txt").map(Path::of).toList();
+    IO.println("clients:" + clients + ", seconds:" + seconds + ", scoring threads:" + threads);
+    for (Path path : paths) {
+        var dictionary = Dictionary.of(Word.fromFile(path));
+        try (
+            var server = SolverServer.start(dictionary, new InetSocketAddress("localhost", 0), threads, clients);
+            var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+            var executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            var base = URI.create("http://localhost:" + server.address().getPort() + "/games");
+            var profile = new Profile();
+            warmUp(client, base, dictionary);
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            var start = System.nanoTime();
+            for (int i = 0; i < clients; i++) {
+                var random = new SplittableRandom(i);
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        play(client, base, dictionary, dictionary.get(random.nextInt(dictionary.size())), profile);
+                    }
+                    return null;
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(seconds * 10L, TimeUnit.SECONDS);
+            IO.println(path + ": " + profile.report(Duration.ofNanos(System.nanoTime() - start)));
+        }
+    }
+}
+
+private static void warmUp(HttpClient client, URI base, Dictionary dictionary) {
+    var profile = new Profile();
+    for (int i = 0; i < 20; i++) {
+        play(client, base, dictionary, dictionary.get(i * 7919 % dictionary.size()), profile);
+    }
+}
+
+private static void play(HttpClient client, URI base, Dictionary dictionary, Word solution, Profile profile) {
+    var id = field(profile.send(client, "new", "POST", base), "id");
+    if (id == null) {
+        profile.failedGames.increment();
+        return;
+    }
+    var solved = false;
+    for (int guesses = 0; guesses < dictionary.size() && !solved; guesses++) {
+        var hottest = profile.send(client, "hottest", "GET", URI.create(base + "/" + id + "/hottest?limit=1"));
+        var word = field(hottest, "word");
+        if (word == null) {
+            break;
+        }
+        var guess = new Word(word);
+        var spec = Feedback.spec(Feedback.pattern(guess, solution), guess.length());
+        var uri = URI.create(base + "/" + id + "/tried?guess=" + word + "&spec=" + spec);
+        if (profile.send(client, "tried", "POST", uri) == null) {
+            break;
+        }
+        solved = guess.equals(solution);
+    }
+    profile.send(client, "delete", "DELETE", URI.create(base + "/" + id));
+    if (solved) {
+        profile.games.increment();
+    } else {
+        profile.failedGames.increment();
+    }
+}
+
+private static String field(String json, String name) {
+    if (json == null) {
+        return null;
+    }
+    var matcher = Pattern.compile("\"" + name + "\":\"([^\"]*)\"").matcher(json);
+    return matcher.find() ? matcher.group(1) : null;
+}
+
+/**
+ * Latencies by endpoint, and games solved, games failed, and requests failed.
+ */
+private static final class Profile {
+
+    private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+
+    private final LongAdder games = new LongAdder();
+
+    private final LongAdder failedGames = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * @return The body, or null if the request failed
+     */
+    String send(HttpClient client, String endpoint, String method, URI uri) {
+        var request = HttpRequest.newBuilder(uri).method(method, HttpRequest.BodyPublishers.noBody()).build();
+        var start = System.nanoTime();
+        try {
+            var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies.computeIfAbsent(endpoint, _ -> new ConcurrentLinkedQueue<>()).add(System.nanoTime() - start);
+            if (response.statusCode() >= 300) {
+                failures.increment();
+                return null;
+            }
+            return response.body();
+        } catch (Exception e) {
+            failures.increment();
+            return null;
+        }
+    }
+
+    String report(Duration elapsed) {
+        var requests = latencies.values().stream().mapToInt(Queue::size).sum();
+        return String.format(
+            Locale.ROOT,
+            "games/s:%.1f, requests/s:%.1f, failed games:%d, failed requests:%d%s",
+            games.sum() * 1e9 / elapsed.toNanos(),
+            requests * 1e9 / elapsed.toNanos(),
+            failedGames.sum(),
+            failures.sum(),
+            latencies.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> {
+                    var sorted = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+                    return String.format(
+                        Locale.ROOT,
+                        "%n  %-8s n:%d p50:%.2fms p99:%.2fms max:%.2fms",
+                        entry.getKey(),
+                        sorted.length,
+                        percentile(sorted, 50) / 1e6,
+                        percentile(sorted, 99) / 1e6,
+                        sorted[sorted.length - 1] / 1e6
+                    );
+                })
+                .collect(Collectors.joining())
+        );
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        var index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)];
+    }
+}
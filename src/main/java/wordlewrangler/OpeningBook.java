@@ -0,0 +1,279 @@
+package wordlewrangler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * The hottest candidates for the first two moves of a secret game: The openers, and for the chosen opener,
+ * the replies to every feedback it can get.  These are the most expensive queries, as the candidates are
+ * many, and the same for every game on the dictionary.
+ * <p>
+ * Built offline, see {@code Openings}, and saved next to the {@link FeedbackMatrix} as a versioned file named
+ * by the dictionary id.  {@link Game#hottestCandidates()} looks up the book if there is one, and computes
+ * as usual if there isn't, or if the game has left it.
+ */
+public final class OpeningBook {
+
+    /**
+     * @param dictionary Dictionary
+     * @return A book opening with the hottest candidate
+     */
+    public static OpeningBook build(Dictionary dictionary) {
+        var openers = hottest(dictionary, all(dictionary));
+        return build(dictionary, openers, openers.getFirst().word());
+    }
+
+    /**
+     * @param dictionary Dictionary
+     * @param opener     Opener
+     * @return A book opening with the opener
+     */
+    public static OpeningBook build(Dictionary dictionary, Word opener) {
+        if (!dictionary.contains(opener)) {
+            throw new IllegalArgumentException("Not in dictionary: " + opener);
+        }
+        return build(dictionary, hottest(dictionary, all(dictionary)), opener);
+    }
+
+    static OpeningBook of(Dictionary dictionary) {
+        var path = FeedbackMatrix.cacheDirectory().resolve(fileName(dictionary));
+        if (Files.isRegularFile(path)) {
+            var loaded = load(dictionary, path);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+        return new OpeningBook(dictionary, List.of(), null, new int[dictionary.patterns()], emptyReplies(dictionary));
+    }
+
+    /**
+     * @param dictionary Dictionary
+     * @param path       File
+     * @return The book, or null if the file is not a book for this dictionary and version
+     */
+    static OpeningBook load(Dictionary dictionary, Path path) {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.BIG_ENDIAN);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + path, e);
+        }
+        if (buffer.remaining() < HEADER_SIZE ||
+            buffer.getInt() != MAGIC ||
+            buffer.getInt() != VERSION ||
+            buffer.getLong() != dictionary.id() ||
+            buffer.getInt() != dictionary.size()
+        ) {
+            return null;
+        }
+        var opener = dictionary.get(buffer.getInt());
+        var openers = read(dictionary, buffer);
+        var sizes = new int[dictionary.patterns()];
+        var replies = emptyReplies(dictionary);
+        while (buffer.hasRemaining()) {
+            var pattern = buffer.getInt();
+            sizes[pattern] = buffer.getInt();
+            replies.set(pattern, read(dictionary, buffer));
+        }
+        return new OpeningBook(dictionary, openers, opener, sizes, replies);
+    }
+
+    private final Dictionary dictionary;
+
+    private final List<WordElim> openers;
+
+    private final Word opener;
+
+    private final int[] sizes;
+
+    private final List<List<WordElim>> replies;
+
+    private OpeningBook(
+        Dictionary dictionary,
+        List<WordElim> openers,
+        Word opener,
+        int[] sizes,
+        List<List<WordElim>> replies
+    ) {
+        this.dictionary = dictionary;
+        this.openers = openers;
+        this.opener = opener;
+        this.sizes = sizes;
+        this.replies = replies;
+    }
+
+    /**
+     * @return The hottest openers, in id order
+     */
+    public List<WordElim> openers() {
+        return openers;
+    }
+
+    /**
+     * @return The opener the replies are for, or null for an empty book
+     */
+    public Word opener() {
+        return opener;
+    }
+
+    /**
+     * @param pattern Feedback on the opener
+     * @return The hottest replies, in id order, or an empty list if the feedback can't happen
+     */
+    public List<WordElim> replies(int pattern) {
+        var replies = this.replies.get(pattern);
+        return replies == null ? List.of() : replies;
+    }
+
+    public boolean isEmpty() {
+        return opener == null;
+    }
+
+    /**
+     * @return Where {@link Game} looks for the book
+     */
+    public Path save() throws IOException {
+        var path = FeedbackMatrix.cacheDirectory().resolve(fileName(dictionary));
+        save(path);
+        return path;
+    }
+
+    public void save(Path path) throws IOException {
+        if (isEmpty()) {
+            throw new IllegalStateException("Empty book for " + dictionary);
+        }
+        var buffer = ByteBuffer.allocate(byteSize()).order(ByteOrder.BIG_ENDIAN)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putLong(dictionary.id())
+            .putInt(dictionary.size())
+            .putInt(dictionary.id(opener));
+        write(buffer, openers);
+        for (int pattern = 0; pattern < sizes.length; pattern++) {
+            var replies = this.replies.get(pattern);
+            if (replies != null) {
+                write(buffer.putInt(pattern).putInt(sizes[pattern]), replies);
+            }
+        }
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        var temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, buffer.array());
+        } catch (Exception e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param game Game
+     * @return The hottest candidates from the book, or null if the game is not in it
+     */
+    List<WordElim> hottest(Game game) {
+        if (isEmpty() || game.solution() != null || game.dictionary() != dictionary) {
+            return null;
+        }
+        var guesses = game.guesses();
+        var candidates = game.candidates().size();
+        if (guesses.isEmpty()) {
+            return candidates == dictionary.size() ? openers : null;
+        }
+        if (guesses.size() == 1 && guesses.getFirst().equals(opener)) {
+            var pattern = game.feedback().getFirst();
+            return sizes[pattern] == candidates ? this.replies.get(pattern) : null;
+        }
+        return null;
+    }
+
+    private int byteSize() {
+        var size = HEADER_SIZE + Integer.BYTES + entriesSize(openers);
+        for (List<WordElim> replies : replies) {
+            if (replies != null) {
+                size += 2 * Integer.BYTES + entriesSize(replies);
+            }
+        }
+        return size;
+    }
+
+    private void write(ByteBuffer buffer, List<WordElim> wordElims) {
+        buffer.putInt(wordElims.size());
+        for (WordElim wordElim : wordElims) {
+            buffer.putInt(dictionary.id(wordElim.word())).putInt(wordElim.eliminated());
+        }
+    }
+
+    private static OpeningBook build(Dictionary dictionary, List<WordElim> openers, Word opener) {
+        var matrix = dictionary.matrix();
+        var guess = dictionary.id(opener);
+        var buckets = new int[dictionary.patterns()][];
+        var sizes = new int[dictionary.patterns()];
+        for (int solution = 0; solution < dictionary.size(); solution++) {
+            sizes[matrix.pattern(guess, solution)]++;
+        }
+        var filled = new int[dictionary.patterns()];
+        for (int solution = 0; solution < dictionary.size(); solution++) {
+            var pattern = matrix.pattern(guess, solution);
+            if (buckets[pattern] == null) {
+                buckets[pattern] = new int[sizes[pattern]];
+            }
+            buckets[pattern][filled[pattern]++] = solution;
+        }
+        var replies = emptyReplies(dictionary);
+        IntStream.range(0, dictionary.patterns()).parallel()
+            .filter(pattern -> buckets[pattern] != null)
+            .forEach(pattern ->
+                replies.set(pattern, hottest(dictionary, buckets[pattern])));
+        return new OpeningBook(dictionary, openers, opener, sizes, replies);
+    }
+
+    private static List<WordElim> read(Dictionary dictionary, ByteBuffer buffer) {
+        var wordElims = new WordElim[buffer.getInt()];
+        for (int i = 0; i < wordElims.length; i++) {
+            wordElims[i] = new WordElim(dictionary.get(buffer.getInt()), buffer.getInt());
+        }
+        return List.of(wordElims);
+    }
+
+    private static int[] all(Dictionary dictionary) {
+        return IntStream.range(0, dictionary.size()).toArray();
+    }
+
+    private static List<WordElim> hottest(Dictionary dictionary, int[] candidates) {
+        return Eliminations.hottest(dictionary, candidates, candidates, -1);
+    }
+
+    private static int entriesSize(List<WordElim> wordElims) {
+        return Integer.BYTES + 2 * Integer.BYTES * wordElims.size();
+    }
+
+    private static List<List<WordElim>> emptyReplies(Dictionary dictionary) {
+        return new ArrayList<>(Collections.nCopies(dictionary.patterns(), null));
+    }
+
+    private static String fileName(Dictionary dictionary) {
+        return "openings-" + Long.toHexString(dictionary.id()) + ".v" + VERSION + ".bin";
+    }
+
+    private static final int MAGIC = 0x5757424b;
+
+    private static final int VERSION = 2;
+
+    private static final int HEADER_SIZE = 20;
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + Long.toHexString(dictionary.id()) + ", " +
+               (isEmpty() ? "empty" : opener + ", " + replies.stream().filter(Objects::nonNull).count() + " replies") +
+               "]";
+    }
+}
@@ -0,0 +1,13 @@
+import module java.base;
+import wordlewrangler.Dictionary;
+import wordlewrangler.OpeningBook;
+import wordlewrangler.Word;
+
+void main(String[] args) throws IOException {
+    var path = Path.of(args.length > 0 ? args[0] : "words.txt");
+    var dictionary = Dictionary.of(Word.fromFile(path));
+    var book = args.length > 1
+        ? OpeningBook.build(dictionary, new Word(args[1]))
+        : OpeningBook.build(dictionary);
+    IO.println(path + ": " + book + " -> " + book.save());
+}
@@ -0,0 +1,151 @@
+package wordlewrangler;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * How a guess partitions the candidates by the pattern each of them would give it.
+ *
+ * @param guess        The guess
+ * @param candidates   Number of candidates
+ * @param buckets      Number of distinct patterns
+ * @param largest      Size of the largest bucket, i.e. the worst case remaining
+ * @param singletons   Number of buckets with one candidate, i.e. candidates that would be pinned down
+ * @param sumOfSquares Sum of squared bucket sizes
+ * @param entropy      Shannon entropy of the pattern, in bits
+ */
+@SuppressWarnings("NullableProblems")
+public record PartitionStats(
+    Word guess,
+    int candidates,
+    int buckets,
+    int largest,
+    int singletons,
+    long sumOfSquares,
+    double entropy
+) {
+
+    /**
+     * Counts the buckets and sums them up, in one pass each.  The buckets are summed by going over the
+     * patterns, or over the candidates again if there are fewer of them, as there are with long words.
+     *
+     * @param guess      Guess
+     * @param guessId    Id of guess
+     * @param candidates Candidate ids
+     * @param matrix     Feedback matrix
+     * @param counts     Buffer of {@link FeedbackMatrix#patterns()} counts, all zero, and left that way
+     * @return Stats
+     */
+    static PartitionStats of(Word guess, int guessId, int[] candidates, FeedbackMatrix matrix, int[] counts) {
+        for (int candidate : candidates) {
+            counts[matrix.pattern(guessId, candidate)]++;
+        }
+        var buckets = 0;
+        var largest = 0;
+        var singletons = 0;
+        long sumOfSquares = 0;
+        var entropy = 0d;
+        var total = candidates.length;
+        var sparse = total < matrix.patterns();
+        for (int i = 0, end = sparse ? total : matrix.patterns(); i < end; i++) {
+            var pattern = sparse ? matrix.pattern(guessId, candidates[i]) : i;
+            var count = counts[pattern];
+            if (count > 0) {
+                counts[pattern] = 0;
+                buckets++;
+                largest = Math.max(largest, count);
+                if (count == 1) {
+                    singletons++;
+                }
+                sumOfSquares += (long) count * count;
+                var p = 1d * count / total;
+                entropy -= p * Math.log(p) / LN_2;
+            }
+        }
+        return new PartitionStats(guess, total, buckets, largest, singletons, sumOfSquares, entropy);
+    }
+
+    /**
+     * @return Expected number of candidates left after the guess, assuming each candidate is equally likely
+     */
+    public double expectedRemaining() {
+        return candidates == 0 ? 0d : 1d * sumOfSquares / candidates;
+    }
+
+    /**
+     * @return Expected number of candidates eliminated, rounded
+     */
+    public int eliminated() {
+        return eliminated(candidates, sumOfSquares);
+    }
+
+    public WordElim wordElim() {
+        return new WordElim(guess, eliminated());
+    }
+
+    @Override
+    public String toString() {
+        return guess + ":" + buckets + "/" + largest + "/" + NUMBER_INSTANCE.format(entropy);
+    }
+
+    public enum Metric {
+
+        EXPECTED_REMAINING(PartitionStats::expectedRemaining, false),
+
+        ENTROPY(PartitionStats::entropy, true),
+
+        LARGEST(PartitionStats::largest, false),
+
+        BUCKETS(PartitionStats::buckets, true),
+
+        SINGLETONS(PartitionStats::singletons, true);
+
+        private final ToDoubleFunction<PartitionStats> value;
+
+        private final Comparator<PartitionStats> best;
+
+        Metric(ToDoubleFunction<PartitionStats> value, boolean higherIsBetter) {
+            this.value = value;
+            var ascending = Comparator.comparingDouble(value);
+            this.best = higherIsBetter ? ascending.reversed() : ascending;
+        }
+
+        public double value(PartitionStats stats) {
+            return value.applyAsDouble(stats);
+        }
+
+        /**
+         * @return Comparator with the best guesses first
+         */
+        public Comparator<PartitionStats> best() {
+            return best;
+        }
+    }
+
+    /**
+     * @param patterns Number of patterns
+     * @return This thread's buffer of at least that many counts, all zero, to be left that way
+     */
+    static int[] counts(int patterns) {
+        var counts = COUNTS.get();
+        if (counts.length < patterns) {
+            COUNTS.set(counts = new int[patterns]);
+        }
+        return counts;
+    }
+
+    static int eliminated(long candidates, long sumOfSquares) {
+        return candidates == 0 ? 0 : Math.toIntExact(Math.round(
+            1d * (candidates * candidates - sumOfSquares) / candidates
+        ));
+    }
+
+    private static final double LN_2 = Math.log(2);
+
+    private static final ThreadLocal<int[]> COUNTS = ThreadLocal.withInitial(() -> new int[0]);
+
+    private static final NumberFormat NUMBER_INSTANCE = DecimalFormat.getNumberInstance(Locale.ROOT);
+}
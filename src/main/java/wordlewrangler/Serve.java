@@ -0,0 +1,21 @@
+import module java.base;
+import wordlewrangler.Dictionary;
+import wordlewrangler.SolverServer;
+import wordlewrangler.Word;
+
+void main(String[] args) throws IOException, InterruptedException {
+    if (System.getProperty(SolverServer.NO_DELAY_PROPERTY) == null) {
+        System.setProperty(SolverServer.NO_DELAY_PROPERTY, "true");
+    }
+    var path = Path.of(args.length > 0 ? args[0] : "words.txt");
+    var port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+    var threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+    var server = SolverServer.start(
+        Dictionary.of(Word.fromFile(path)),
+        new InetSocketAddress(port),
+        threads,
+        threads * 64
+    );
+    IO.println(path + ": " + server);
+    Thread.currentThread().join();
+}
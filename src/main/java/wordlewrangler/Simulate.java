@@ -0,0 +1,35 @@
+import module java.base;
+import wordlewrangler.DecisionTree;
+import wordlewrangler.GuessStrategy;
+import wordlewrangler.Simulation;
+import wordlewrangler.Word;
+
+void main(String[] args) {
+    var words = Word.fromFile(args.length > 0 ? args[0] : "words.txt");
+    var simulation = Simulation.of(words);
+    var solutions = Word.fromFile(args.length > 1 ? args[1] : "past.txt")
+        .stream()
+        .filter(simulation.dictionary()::contains)
+        .distinct()
+        .toList();
+    var sample = args.length > 2 ? Integer.parseInt(args[2]) : solutions.size();
+    var strategy = args.length > 3
+        ? strategy(simulation, args[3])
+        : simulation.strategy();
+    var result = simulation.solutions(solutions).sample(sample).strategy(strategy).run();
+    IO.println(strategy + ": " + result);
+}
+
+/**
+ * @return A builtin strategy by name, or a decision tree from a file built by {@code Trees}
+ */
+private static GuessStrategy strategy(Simulation simulation, String arg) {
+    if (!arg.endsWith(".tree")) {
+        return GuessStrategy.Builtin.valueOf(arg);
+    }
+    var tree = DecisionTree.load(simulation.dictionary(), Path.of(arg));
+    if (tree == null) {
+        throw new IllegalStateException("Not a tree for " + simulation.dictionary() + ": " + arg);
+    }
+    return tree;
+}
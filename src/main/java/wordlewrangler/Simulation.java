@@ -0,0 +1,208 @@
+package wordlewrangler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Plays a strategy against many solutions, one game per solution, on an executor.  Each game is secret to the
+ * strategy, which is given only the feedback, and picks among equally good guesses with its own
+ * {@link SplittableRandom}, split from the seed in solution order, so a run is repeatable for a seed no matter
+ * how games are scheduled.
+ *
+ * @param dictionary Dictionary
+ * @param solutions  Solutions to play
+ * @param strategy   Strategy
+ * @param executor   Executor for the games
+ * @param seed       Seed
+ * @param maxGuesses Games needing more guesses are failures
+ */
+public record Simulation(
+    Dictionary dictionary,
+    List<Word> solutions,
+    GuessStrategy strategy,
+    Executor executor,
+    long seed,
+    int maxGuesses
+) {
+
+    /**
+     * @param words Words, each one a solution
+     * @return Simulation of all the words, with the max average elimination strategy, on the common pool
+     */
+    public static Simulation of(List<Word> words) {
+        var dictionary = Dictionary.of(words);
+        return new Simulation(
+            dictionary,
+            dictionary,
+            GuessStrategy.Builtin.MAX_AVERAGE_ELIMINATION,
+            ForkJoinPool.commonPool(),
+            0L,
+            6
+        );
+    }
+
+    public Simulation {
+        Objects.requireNonNull(dictionary, "dictionary");
+        Objects.requireNonNull(strategy, "strategy");
+        Objects.requireNonNull(executor, "executor");
+        for (Word solution : solutions) {
+            if (!dictionary.contains(solution)) {
+                throw new IllegalArgumentException("Not in dictionary: " + solution);
+            }
+        }
+        if (maxGuesses < 1) {
+            throw new IllegalArgumentException("Invalid max guesses: " + maxGuesses);
+        }
+    }
+
+    public Simulation solutions(Collection<Word> solutions) {
+        return new Simulation(dictionary, List.copyOf(solutions), strategy, executor, seed, maxGuesses);
+    }
+
+    /**
+     * @param count Number of solutions
+     * @return Simulation of a random sample of the solutions, drawn with the seed
+     */
+    public Simulation sample(int count) {
+        var random = new SplittableRandom(seed);
+        var sample = new ArrayList<>(solutions);
+        for (int i = 0; i < Math.min(count, sample.size()); i++) {
+            var j = random.nextInt(i, sample.size());
+            sample.set(j, sample.set(i, sample.get(j)));
+        }
+        return solutions(sample.subList(0, Math.min(count, sample.size())));
+    }
+
+    public Simulation strategy(GuessStrategy strategy) {
+        return new Simulation(dictionary, solutions, strategy, executor, seed, maxGuesses);
+    }
+
+    public Simulation executor(Executor executor) {
+        return new Simulation(dictionary, solutions, strategy, executor, seed, maxGuesses);
+    }
+
+    public Simulation seed(long seed) {
+        return new Simulation(dictionary, solutions, strategy, executor, seed, maxGuesses);
+    }
+
+    public Simulation maxGuesses(int maxGuesses) {
+        return new Simulation(dictionary, solutions, strategy, executor, seed, maxGuesses);
+    }
+
+    public Result run() {
+        var random = new SplittableRandom(seed);
+        var start = System.nanoTime();
+        var games = solutions.stream()
+            .map(solution -> {
+                var gameRandom = random.split();
+                return CompletableFuture.supplyAsync(() -> play(solution, gameRandom), executor);
+            })
+            .toList()
+            .stream()
+            .map(CompletableFuture::join)
+            .toList();
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        var histogram = new int[games.stream().mapToInt(game -> game.length).max().orElse(0) + 1];
+        var moves = new long[games.stream().mapToInt(game -> game.length).sum()];
+        var count = 0;
+        for (long[] game : games) {
+            histogram[game.length]++;
+            System.arraycopy(game, 0, moves, count, game.length);
+            count += game.length;
+        }
+        Arrays.sort(moves);
+        return new Result(games.size(), histogram, maxGuesses, elapsed, moves);
+    }
+
+    /**
+     * @return Nanoseconds spent on each move, one per guess
+     */
+    private long[] play(Word solution, SplittableRandom random) {
+        var game = new Game(dictionary);
+        var moves = new long[maxGuesses];
+        var count = 0;
+        while (count < dictionary.size()) {
+            if (count == moves.length) {
+                moves = Arrays.copyOf(moves, count * 2);
+            }
+            var start = System.nanoTime();
+            var guess = strategy.guess(game, random);
+            game = game.tried(guess, Feedback.pattern(guess, solution));
+            moves[count++] = System.nanoTime() - start;
+            if (guess.equals(solution)) {
+                return Arrays.copyOf(moves, count);
+            }
+        }
+        throw new IllegalStateException("Did not find " + solution + ": " + game);
+    }
+
+    /**
+     * @param games      Games played
+     * @param histogram  Number of games for each number of guesses
+     * @param maxGuesses Games needing more guesses are failures
+     * @param elapsed    Wall time
+     * @param moves      Nanoseconds for each move, ascending
+     */
+    public record Result(int games, int[] histogram, int maxGuesses, Duration elapsed, long[] moves) {
+
+        public int failures() {
+            return IntStream.range(Math.min(maxGuesses + 1, histogram.length), histogram.length)
+                .map(guesses -> histogram[guesses])
+                .sum();
+        }
+
+        public double failureRate() {
+            return games == 0 ? 0d : 1d * failures() / games;
+        }
+
+        public double averageGuesses() {
+            return games == 0 ? 0d : 1d * moves.length / games;
+        }
+
+        public double gamesPerSecond() {
+            return elapsed.isZero() ? 0d : games * 1e9 / elapsed.toNanos();
+        }
+
+        /**
+         * @param percentile Percentile, 0 to 100
+         * @return Time per move at the percentile
+         */
+        public Duration moveTime(double percentile) {
+            if (moves.length == 0) {
+                return Duration.ZERO;
+            }
+            var index = (int) Math.ceil(percentile / 100 * moves.length) - 1;
+            return Duration.ofNanos(moves[Math.clamp(index, 0, moves.length - 1)]);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[games:" + games +
+                   ", guesses:" + IntStream.range(1, histogram.length)
+                       .mapToObj(guesses -> guesses + "=" + histogram[guesses])
+                       .collect(Collectors.joining(" ")) +
+                   String.format(
+                       Locale.ROOT,
+                       ", avg:%.3f, failures:%.2f%%, games/s:%.1f, move p50/p90/p99/max:%s/%s/%s/%s]",
+                       averageGuesses(),
+                       failureRate() * 100,
+                       gamesPerSecond(),
+                       moveTime(50),
+                       moveTime(90),
+                       moveTime(99),
+                       moveTime(100)
+                   );
+        }
+    }
+}
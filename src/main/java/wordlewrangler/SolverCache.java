@@ -0,0 +1,149 @@
+package wordlewrangler;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Solver results by game state, so the states everyone passes through, like the first feedback on a popular
+ * opener, are computed once.  A state is the dictionary id, the candidate bits and, for results that depend on
+ * it, the solution.  Games that reach the same candidates by different guesses share their results.
+ * <p>
+ * Bounded by total weight, roughly the number of words in the cached results, evicting the least recently
+ * used.  Results are computed outside the lock, so two threads missing on the same state at the same time
+ * may both compute it; the first one stored wins.
+ * <p>
+ * The {@link #shared() shared} cache weighs up to {@value #WEIGHT_PROPERTY}, if set, or
+ * {@value #DEFAULT_WEIGHT}.
+ */
+public final class SolverCache {
+
+    public static final String WEIGHT_PROPERTY = "wordlewrangler.solverCache";
+
+    public static SolverCache shared() {
+        return SHARED;
+    }
+
+    public static SolverCache of(long maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Negative weight: " + maxWeight);
+        }
+        return new SolverCache(maxWeight);
+    }
+
+    private final long maxWeight;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, .75f, true);
+
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private SolverCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), weight);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * @param query      What is computed, e.g. an enum constant
+     * @param candidates Candidates
+     * @param solution   Solution id, or -1 if the result doesn't depend on it
+     * @return Key
+     */
+    static Key key(Object query, WordSet candidates, int solution) {
+        return new Key(query, candidates.dictionary().id(), solution, candidates.bits());
+    }
+
+    <T> T get(Key key, Supplier<T> compute, ToIntFunction<T> weigher) {
+        synchronized (entries) {
+            var entry = entries.get(key);
+            if (entry != null) {
+                hits.increment();
+                @SuppressWarnings("unchecked") var value = (T) entry.value();
+                return value;
+            }
+        }
+        misses.increment();
+        var value = compute.get();
+        var weight = Math.max(1, weigher.applyAsInt(value));
+        if (weight <= maxWeight) {
+            synchronized (entries) {
+                var existing = entries.putIfAbsent(key, new Entry(value, weight));
+                if (existing != null) {
+                    @SuppressWarnings("unchecked") var stored = (T) existing.value();
+                    return stored;
+                }
+                this.weight += weight;
+                evict();
+            }
+        }
+        return value;
+    }
+
+    private void evict() {
+        var iterator = entries.values().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            weight -= iterator.next().weight();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final long DEFAULT_WEIGHT = 1_000_000L;
+
+    private static final SolverCache SHARED = of(Long.getLong(WEIGHT_PROPERTY, DEFAULT_WEIGHT));
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + stats() + "/" + maxWeight + "]";
+    }
+
+    /**
+     * @param hits      Results served from the cache
+     * @param misses    Results computed
+     * @param evictions Results evicted
+     * @param entries   Results held
+     * @param weight    Total weight held
+     */
+    public record Stats(long hits, long misses, long evictions, int entries, long weight) {
+    }
+
+    record Key(Object query, long dictionary, int solution, long[] bits) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key &&
+                   dictionary == key.dictionary &&
+                   solution == key.solution &&
+                   query.equals(key.query) &&
+                   Arrays.equals(bits, key.bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return (Long.hashCode(dictionary) * 31 + solution) * 31 + Arrays.hashCode(bits) + query.hashCode();
+        }
+    }
+
+    private record Entry(Object value, int weight) {
+    }
+}
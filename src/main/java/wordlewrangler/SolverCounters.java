@@ -0,0 +1,47 @@
+package wordlewrangler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The solver's work since start, always counted: Guesses evaluated against the candidates, and feedback
+ * patterns computed, whether one by one or for a whole {@link FeedbackMatrix}.  Added to once per batch of
+ * work, not per word, so they cost next to nothing.
+ * <p>
+ * For where the time goes, see the flight recorder events in {@link SolverEvents}.
+ */
+public final class SolverCounters {
+
+    public static Counts counts() {
+        return new Counts(EVALUATED.sum(), FEEDBACK.sum());
+    }
+
+    static void evaluated(long guesses) {
+        EVALUATED.add(guesses);
+    }
+
+    static void feedback(long patterns) {
+        FEEDBACK.add(patterns);
+    }
+
+    private SolverCounters() {
+    }
+
+    private static final LongAdder EVALUATED = new LongAdder();
+
+    private static final LongAdder FEEDBACK = new LongAdder();
+
+    /**
+     * @param evaluated Guesses evaluated against the candidates
+     * @param feedback  Feedback patterns computed
+     */
+    public record Counts(long evaluated, long feedback) {
+
+        /**
+         * @param earlier Counts taken earlier
+         * @return The counts since then
+         */
+        public Counts since(Counts earlier) {
+            return new Counts(evaluated - earlier.evaluated, feedback - earlier.feedback);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package wordlewrangler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder events for the solver's hot paths, with the sizes involved.  Each event is timed around the
+ * work, and its fields are only filled in if it is enabled and over its threshold, see
+ * {@link Event#shouldCommit()}.  Record them with e.g. {@code -XX:StartFlightRecording}, and
+ * {@code jfr print --categories "Wordle Wrangler"} the recording.
+ */
+final class SolverEvents {
+
+    private SolverEvents() {
+    }
+
+    private static final String CATEGORY = "Wordle Wrangler";
+
+    /**
+     * A guess and its feedback narrowing the candidates.
+     */
+    @Name("wordlewrangler.Apply")
+    @Label("Apply Guess")
+    @Description("A guess and its feedback narrowing the candidates")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Apply extends Event {
+
+        @Label("Guess")
+        String guess;
+
+        @Label("Feedback")
+        String feedback;
+
+        @Label("Constraints")
+        @Description("Constraints from the feedback")
+        int constraints;
+
+        @Label("Candidates Before")
+        int candidatesBefore;
+
+        @Label("Candidates")
+        int candidates;
+
+        @Label("Guesses")
+        @Description("Guesses so far, including this one")
+        int guesses;
+
+        @Label("Indexed")
+        @Description("Whether the candidates were masked through the letter index, not checked one by one")
+        boolean indexed;
+    }
+
+    /**
+     * A game query, served from the {@link SolverCache} or computed.
+     */
+    @Name("wordlewrangler.Query")
+    @Label("Solver Query")
+    @Description("A game query, served from the cache or computed")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Query extends Event {
+
+        @Label("Query")
+        String query;
+
+        @Label("Candidates")
+        int candidates;
+
+        @Label("Guesses")
+        int guesses;
+
+        @Label("Results")
+        int results;
+
+        @Label("Cached")
+        boolean cached;
+    }
+}
@@ -0,0 +1,485 @@
+package wordlewrangler;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A solver over HTTP, on the JDK's built-in server, for one {@link Dictionary}.  Every request gets its own
+ * virtual thread, so idle connections cost next to nothing.  Scoring runs on a {@link ForkJoinPool} of
+ * {@code threads} platform threads, where the solver's own parallel work stays too, and requests that would
+ * queue up more than {@code backlog} scorings are turned away with 503.
+ * <p>
+ * Sessions are held as {@link GameSnapshot snapshots}, with their candidates once there are guesses, until
+ * deleted or left idle for too long.  New games are turned away with 503 while {@code sessions} are open.  A
+ * session moves one guess at a time: Of two guesses racing on it, the second gets 409.
+ * <p>
+ * For low latency, launch with {@link #NO_DELAY_PROPERTY} set.
+ * <p>
+ * Endpoints, all answering JSON:
+ * <ul>
+ *     <li>{@code POST /games[?solution=WORD]}: New game, secret unless the solution is given</li>
+ *     <li>{@code GET /games/{id}}: The game</li>
+ *     <li>{@code POST /games/{id}/tried?guess=WORD[&spec=FPU..]}: The guess, with feedback as in
+ *     {@link Game#tried(String, String)}, or for a known game without</li>
+ *     <li>{@code GET /games/{id}/hottest[?limit=n]}: See {@link Game#hottestCandidates()}</li>
+ *     <li>{@code GET /games/{id}/scores[?limit=n]}: See {@link WordScores#ratings()}</li>
+ *     <li>{@code DELETE /games/{id}}: Ends the session</li>
+ *     <li>{@code GET /stats}: Sessions, {@link SolverCounters} and {@link SolverCache#stats()}</li>
+ * </ul>
+ * Bad input gets 400, unknown or expired sessions 404, and other failures 500.
+ */
+public final class SolverServer implements AutoCloseable {
+
+    /**
+     * @param dictionary Dictionary
+     * @param address    Address, with port 0 for any free port
+     * @param threads    Scoring threads
+     * @param backlog    Most scorings running or waiting
+     * @return A running server
+     */
+    public static SolverServer start(Dictionary dictionary, InetSocketAddress address, int threads, int backlog)
+        throws IOException {
+        return start(dictionary, address, threads, backlog, DEFAULT_SESSIONS, DEFAULT_IDLE);
+    }
+
+    /**
+     * @param dictionary Dictionary
+     * @param address    Address, with port 0 for any free port
+     * @param threads    Scoring threads
+     * @param backlog    Most scorings running or waiting
+     * @param sessions   Most sessions open
+     * @param idle       Time a session may go unused before it expires
+     * @return A running server
+     */
+    public static SolverServer start(
+        Dictionary dictionary,
+        InetSocketAddress address,
+        int threads,
+        int backlog,
+        int sessions,
+        Duration idle
+    ) throws IOException {
+        if (threads < 1 || backlog < threads) {
+            throw new IllegalArgumentException("Invalid threads/backlog: " + threads + "/" + backlog);
+        }
+        if (sessions < 1 || !idle.isPositive()) {
+            throw new IllegalArgumentException("Invalid sessions/idle: " + sessions + "/" + idle);
+        }
+        return new SolverServer(dictionary, address, threads, backlog, sessions, idle);
+    }
+
+    private final Dictionary dictionary;
+
+    private final HttpServer server;
+
+    private final ExecutorService requests;
+
+    private final ForkJoinPool scoring;
+
+    private final Semaphore admitted;
+
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * A permit for each session that may still be opened, taken before it is stored and given back when it is
+     * removed, so concurrent new games can't go past the limit.
+     */
+    private final Semaphore openable;
+
+    private final long idleNanos;
+
+    private SolverServer(
+        Dictionary dictionary,
+        InetSocketAddress address,
+        int threads,
+        int backlog,
+        int maxSessions,
+        Duration idle
+    ) throws IOException {
+        this.dictionary = Objects.requireNonNull(dictionary, "dictionary");
+        this.openable = new Semaphore(maxSessions);
+        this.idleNanos = idle.toNanos();
+        this.scoring = new ForkJoinPool(threads);
+        this.admitted = new Semaphore(backlog);
+        this.requests = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(requests);
+        server.createContext("/games", this::handle);
+        server.createContext("/stats", this::handle);
+        server.start();
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    public Dictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return Number of open sessions
+     */
+    public int sessions() {
+        return sessions.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        requests.close();
+        scoring.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Response response;
+            try {
+                response = route(
+                    exchange.getRequestMethod(),
+                    exchange.getRequestURI().getPath().split("/"),
+                    parameters(exchange.getRequestURI().getRawQuery())
+                );
+            } catch (NoSuchElementException e) {
+                response = error(404, e);
+            } catch (IllegalArgumentException e) {
+                response = error(400, e);
+            } catch (RejectedExecutionException e) {
+                response = error(503, e);
+            } catch (Exception e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Failed: " + exchange.getRequestURI(), e);
+                response = error(500, e);
+            }
+            var body = response.json().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    /**
+     * @param path Path segments, the first two being empty and {@code games} or {@code stats}
+     */
+    private Response route(String method, String[] path, Map<String, String> parameters) {
+        if (path.length == 2 && path[1].equals("stats")) {
+            return method.equals("GET") ? stats() : notAllowed(method);
+        }
+        if (path.length < 2 || !path[1].equals("games")) {
+            return new Response(404, "{\"error\":\"No such resource\"}");
+        }
+        if (path.length == 2 && method.equals("POST")) {
+            return created(parameters.get("solution"));
+        }
+        if (path.length == 3) {
+            return switch (method) {
+                case "GET" -> ok(path[2], game(path[2]));
+                case "DELETE" -> deleted(path[2]);
+                default -> notAllowed(method);
+            };
+        }
+        if (path.length == 4) {
+            return switch (path[3] + " " + method) {
+                case "tried POST" -> tried(path[2], parameters.get("guess"), parameters.get("spec"));
+                case "hottest GET" -> hottest(path[2], limit(parameters));
+                case "scores GET" -> scores(path[2], limit(parameters));
+                default -> new Response(404, "{\"error\":\"No such resource\"}");
+            };
+        }
+        return new Response(404, "{\"error\":\"No such resource\"}");
+    }
+
+    private Response created(String solution) {
+        var game = new Game(dictionary);
+        if (solution != null) {
+            game = game.set(solution);
+        }
+        if (!openable.tryAcquire()) {
+            expire();
+            if (!openable.tryAcquire()) {
+                throw new RejectedExecutionException("Too many sessions: " + sessions.size());
+            }
+        }
+        var id = UUID.randomUUID().toString();
+        sessions.put(id, new Session(store(game)));
+        return new Response(201, json(id, game));
+    }
+
+    private Response tried(String id, String guess, String spec) {
+        if (guess == null) {
+            throw new IllegalArgumentException("No guess");
+        }
+        var session = session(id);
+        var game = restore(session.snapshot);
+        if (spec == null && game.solution() == null) {
+            throw new IllegalArgumentException("No spec for a secret game");
+        }
+        game = spec == null ? game.tryWord(guess) : game.tried(guess, spec);
+        if (!sessions.replace(id, session, new Session(store(game)))) {
+            return sessions.containsKey(id)
+                ? new Response(409, "{\"error\":" + string("Concurrent guess on " + id) + "}")
+                : error(404, new NoSuchElementException("No such game: " + id));
+        }
+        return ok(id, game);
+    }
+
+    private Response hottest(String id, int limit) {
+        var game = game(id);
+        var hottest = score(game::hottestCandidates);
+        return new Response(
+            200,
+            "{\"id\":" + string(id) + ",\"hottest\":[" + hottest.stream()
+                .limit(limit)
+                .map(elim ->
+                    "{\"word\":\"" + elim.word() + "\",\"eliminated\":" + elim.eliminated() + "}")
+                .collect(Collectors.joining(",")) + "]}"
+        );
+    }
+
+    private Response scores(String id, int limit) {
+        var game = game(id);
+        var scores = score(game::wordScores);
+        return new Response(
+            200,
+            "{\"id\":" + string(id) + ",\"scores\":[" + IntStream.range(0, Math.min(limit, scores.size()))
+                .mapToObj(i -> {
+                    var score = scores.rated(i);
+                    return "{\"word\":\"" + score.word() +
+                           "\",\"rating\":" + number(scores.rating(i)) +
+                           ",\"eliminated\":" + score.eliminated() +
+                           ",\"distribution\":" + number(score.distribution()) + "}";
+                })
+                .collect(Collectors.joining(",")) + "]}"
+        );
+    }
+
+    private Response stats() {
+        var counts = SolverCounters.counts();
+        var cache = SolverCache.shared().stats();
+        return new Response(
+            200,
+            "{\"sessions\":" + sessions.size() +
+            ",\"evaluated\":" + counts.evaluated() +
+            ",\"feedback\":" + counts.feedback() +
+            ",\"cache\":{\"hits\":" + cache.hits() +
+            ",\"misses\":" + cache.misses() +
+            ",\"evictions\":" + cache.evictions() +
+            ",\"entries\":" + cache.entries() +
+            ",\"weight\":" + cache.weight() + "}}"
+        );
+    }
+
+    private Response deleted(String id) {
+        if (sessions.remove(id) == null) {
+            throw new NoSuchElementException("No such game: " + id);
+        }
+        openable.release();
+        return new Response(200, "{\"id\":" + string(id) + "}");
+    }
+
+    /**
+     * Runs the scoring on the scoring pool, the calling virtual thread waiting for it.
+     */
+    private <T> T score(Supplier<T> scoring) {
+        if (!admitted.tryAcquire()) {
+            throw new RejectedExecutionException("Scoring backlog full");
+        }
+        try {
+            return this.scoring.submit(scoring::get).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new IllegalStateException("Failed to score", e.getCause());
+        } finally {
+            admitted.release();
+        }
+    }
+
+    private Game game(String id) {
+        return restore(session(id).snapshot);
+    }
+
+    /**
+     * A new game is restored from the dictionary, without storing the candidates.
+     */
+    private static byte[] store(Game game) {
+        return game.snapshot(!game.guesses().isEmpty());
+    }
+
+    private Game restore(byte[] snapshot) {
+        return GameSnapshot.read(ByteBuffer.wrap(snapshot), dictionary);
+    }
+
+    private Session session(String id) {
+        var session = sessions.get(id);
+        if (session == null) {
+            throw new NoSuchElementException("No such game: " + id);
+        }
+        if (expired(session, System.nanoTime())) {
+            remove(id, session);
+            throw new NoSuchElementException("No such game: " + id);
+        }
+        session.touched = System.nanoTime();
+        return session;
+    }
+
+    /**
+     * Only when full, as it goes through all sessions.  Until then, an expired session is removed when asked for.
+     */
+    private void expire() {
+        var now = System.nanoTime();
+        sessions.forEach((id, session) -> {
+            if (expired(session, now)) {
+                remove(id, session);
+            }
+        });
+    }
+
+    private void remove(String id, Session session) {
+        if (sessions.remove(id, session)) {
+            openable.release();
+        }
+    }
+
+    private boolean expired(Session session, long now) {
+        return now - session.touched > idleNanos;
+    }
+
+    private static Response ok(String id, Game game) {
+        return new Response(200, json(id, game));
+    }
+
+    private static Response notAllowed(String method) {
+        return new Response(405, "{\"error\":\"Method not allowed: " + method + "\"}");
+    }
+
+    private static Response error(int status, Exception e) {
+        return new Response(status, "{\"error\":" + string(String.valueOf(e.getMessage())) + "}");
+    }
+
+    private static String json(String id, Game game) {
+        var length = game.unitaryLength();
+        return "{\"id\":" + string(id) +
+               ",\"guesses\":[" + game.guesses().stream()
+                   .map(word -> "\"" + word + "\"")
+                   .collect(Collectors.joining(",")) +
+               "],\"feedback\":[" + game.feedback().stream()
+                   .map(pattern -> "\"" + Feedback.spec(pattern, length) + "\"")
+                   .collect(Collectors.joining(",")) +
+               "],\"candidates\":" + game.candidates().size() +
+               ",\"done\":" + game.done() + "}";
+    }
+
+    /**
+     * JSON has no NaN, as a rating is with a single candidate.
+     */
+    private static String number(double value) {
+        return Double.isFinite(value) ? Double.toString(value) : "null";
+    }
+
+    private static String string(String value) {
+        var json = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"', '\\' -> json.append('\\').append(c);
+                default -> {
+                    if (c < ' ') {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private static int limit(Map<String, String> parameters) {
+        var limit = parameters.get("limit");
+        try {
+            return limit == null ? DEFAULT_LIMIT : Math.max(0, Integer.parseInt(limit));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid limit: " + limit, e);
+        }
+    }
+
+    private static Map<String, String> parameters(String query) {
+        if (query == null || query.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> parameters = new HashMap<>();
+        for (String parameter : query.split("&")) {
+            var split = parameter.indexOf('=');
+            if (split > 0) {
+                parameters.put(
+                    URLDecoder.decode(parameter.substring(0, split), StandardCharsets.UTF_8),
+                    URLDecoder.decode(parameter.substring(split + 1), StandardCharsets.UTF_8)
+                );
+            }
+        }
+        return parameters;
+    }
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private static final int DEFAULT_SESSIONS = 100_000;
+
+    private static final Duration DEFAULT_IDLE = Duration.ofHours(1);
+
+    /**
+     * Unless set to {@code true}, the JDK server leaves Nagle's algorithm on, and small responses wait out the
+     * client's delayed ack, some 40ms each.  It applies to every server in the JVM, and is read once, when the
+     * first one starts, so it is for launchers to set: As a {@code -D} flag, or first thing in {@code main}.
+     */
+    public static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private static final System.Logger LOGGER = System.getLogger(SolverServer.class.getName());
+
+    private record Response(int status, String json) {
+    }
+
+    /**
+     * A session's game, replaced with each guess.  Compared by identity, so a guess only replaces the one it
+     * was made on.
+     */
+    private static final class Session {
+
+        private final byte[] snapshot;
+
+        private volatile long touched = System.nanoTime();
+
+        private Session(byte[] snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + address() + ", " + dictionary + ", sessions:" + sessions() + "]";
+    }
+}
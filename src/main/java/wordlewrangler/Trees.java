@@ -0,0 +1,15 @@
+import module java.base;
+import wordlewrangler.DecisionTree;
+import wordlewrangler.Dictionary;
+import wordlewrangler.SolverCache;
+import wordlewrangler.Word;
+
+void main(String[] args) throws IOException {
+    var path = Path.of(args.length > 0 ? args[0] : "words.txt");
+    var dictionary = Dictionary.of(Word.fromFile(path));
+    var opener = args.length > 1 ? new Word(args[1]) : null;
+    var tree = DecisionTree.build(dictionary, opener, SolverCache.shared());
+    var target = Path.of(path.getFileName() + "." + tree.opener() + ".tree");
+    tree.save(target);
+    IO.println(path + ": " + tree + ", average " + tree.stats().average() + " -> " + target);
+}
@@ -1,15 +1,23 @@
 package wordlewrangler;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
-import java.util.Objects;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public record Word(char[] letters) implements Comparable<Word> {
+/**
+ * A word of up to {@link #MAX_LENGTH} letters, packed into a long: Five bits per letter from the most
+ * significant end, first letter first, and the length in the lowest {@link Feedback#LENGTH_BITS} bits.
+ * Letters are coded in {@link Character} order, and a shorter word is padded with the lowest code, so
+ * equality, hashing and unsigned ordering are those of the long, and agree with those of the string.
+ *
+ * @param packed Packed letters and length
+ */
+public record Word(long packed) implements Comparable<Word> {
 
     public static List<Word> fromFile(String path) {
         return fromFile(Path.of(path));
@@ -19,23 +27,51 @@ public record Word(char[] letters) implements Comparable<Word> {
         return fromFile(path, false);
     }
 
+    /**
+     * @param path   Word list
+     * @param filter Skip words that are not {@link #CLASSIC_LENGTH classic} five-letter words, instead of
+     *               failing on the invalid ones
+     * @return SLATE and CLASP, then the words, distinct and sorted
+     */
     public static List<Word> fromFile(Path path, boolean filter) {
-        try (
-            var lines = Files.lines(path);
-            var words = words(lines, filter)
-        ) {
-            return Stream.concat(
-                    Stream.of(
-                        new Word("SLATE"),
-                        new Word("CLASP")
-                    ), words
-                )
-                .toList();
-        } catch (Exception e) {
+        return openers(read(path, filter ? CLASSIC_LENGTH : 0));
+    }
+
+    /**
+     * @param path   Word list
+     * @param length Word length
+     * @return The words of the given length, others are skipped
+     */
+    public static List<Word> fromFile(Path path, int length) {
+        return list(read(path, length), 0);
+    }
+
+    /**
+     * @param path Binary word list, see {@link #toBinary(Path, Path)}
+     * @return The same words as {@link #fromFile(Path)} of the word list it was written from
+     */
+    public static List<Word> fromBinary(Path path) {
+        try {
+            return openers(WordFile.load(path));
+        } catch (IOException e) {
             throw new IllegalStateException("Failed to read " + path, e);
         }
     }
 
+    /**
+     * Writes the words of a word list in a binary form, which {@link #fromBinary(Path)} loads with no parsing.
+     *
+     * @param path   Word list
+     * @param target Binary word list
+     */
+    public static void toBinary(Path path, Path target) {
+        try {
+            WordFile.save(target, read(path, 0));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write " + target, e);
+        }
+    }
+
     public static List<Word> words(String string) {
         return words(Arrays.stream(string.split("\\s+")))
             .toList();
@@ -45,44 +81,88 @@ public record Word(char[] letters) implements Comparable<Word> {
         return words(lines, false);
     }
 
+    /**
+     * @param lines  Lines of words
+     * @param filter Skip words that are not {@link #CLASSIC_LENGTH classic} five-letter words, instead of
+     *               failing on the invalid ones
+     * @return Distinct words, sorted
+     */
     public static Stream<Word> words(Stream<String> lines, boolean filter) {
+        return filter ? words(lines, CLASSIC_LENGTH) : words(lines, 0);
+    }
+
+    /**
+     * @param lines  Lines of words
+     * @param length Word length, others are skipped, or 0 to fail on invalid words instead
+     * @return Distinct words, sorted
+     */
+    public static Stream<Word> words(Stream<String> lines, int length) {
         return lines
             .map(line -> line.split("\\s+"))
             .flatMap(Arrays::stream)
             .filter(s -> !s.isBlank())
             .map(String::trim)
-            .map(String::toUpperCase)
-            .distinct()
-            .map(String::toCharArray)
-            .flatMap(ls ->
-                filter && invalid(ls)
+            .map(s -> s.toUpperCase(Locale.ROOT))
+            .flatMap(s ->
+                length > 0 && (s.length() != length || invalid(s))
                     ? Stream.empty()
-                    : Stream.of(new Word(ls)))
+                    : Stream.of(new Word(s)))
+            .distinct()
             .sorted();
     }
 
     public Word(String word) {
-        this(word.toUpperCase(Locale.ROOT).toCharArray());
+        this(pack(word.toUpperCase(Locale.ROOT)));
+    }
+
+    public Word(char[] letters) {
+        this(String.valueOf(letters));
     }
 
     public Word {
-        if (invalid(letters)) {
-            throw new IllegalArgumentException("Not a five-letter word: " + new String(letters));
+        var length = Feedback.length(packed);
+        if (length == 0 || length > MAX_LENGTH ||
+            (packed & -1L >>> Feedback.BITS * length & -1L << Feedback.LENGTH_BITS) != 0) {
+            throw new IllegalArgumentException("Not a packed word: " + Long.toHexString(packed));
         }
     }
 
     public int length() {
-        return letters.length;
+        return Feedback.length(packed);
+    }
+
+    /**
+     * @return The letters, in a new array
+     */
+    public char[] letters() {
+        var letters = new char[length()];
+        for (int position = 0; position < letters.length; position++) {
+            letters[position] = letter(position);
+        }
+        return letters;
+    }
+
+    public char letter(int position) {
+        return Feedback.letter(code(position));
+    }
+
+    /**
+     * @param position Position
+     * @return Code of the letter at the position, as in {@link Feedback#ALPHABET}
+     */
+    public int code(int position) {
+        return Feedback.letter(packed, position);
     }
 
     @Override
     public int compareTo(Word o) {
-        return toString().compareTo(o.toString());
+        return Long.compareUnsigned(packed, o.packed);
     }
 
     public boolean contains(char c) {
-        for (char letter : letters) {
-            if (letter == c) {
+        var code = Feedback.index(c);
+        for (int position = 0; position < length(); position++) {
+            if (code(position) == code) {
                 return true;
             }
         }
@@ -90,13 +170,13 @@ public record Word(char[] letters) implements Comparable<Word> {
     }
 
     public Stream<IndexedChar> indexedChars() {
-        return IntStream.range(0, letters.length)
-            .mapToObj(i -> new IndexedChar(i, letters[i]));
+        return IntStream.range(0, length())
+            .mapToObj(i -> new IndexedChar(i, letter(i)));
     }
 
     public Constraint constraintFor(char c, int index) {
-        for (var i = 0; i < letters.length; i++) {
-            if (this.letters()[i] == c) {
+        for (var i = 0; i < length(); i++) {
+            if (letter(i) == c) {
                 if (i == index) {
                     return new Constraint.Green(c, index);
                 }
@@ -106,34 +186,80 @@ public record Word(char[] letters) implements Comparable<Word> {
         return new Constraint.Grey(c, index);
     }
 
-    static final int SIZE = 5;
+    /**
+     * Length of the words in the original game.
+     */
+    public static final int CLASSIC_LENGTH = 5;
 
-    private static boolean invalid(char[] letters) {
-        var str = Objects.requireNonNull(letters, "letters");
-        if (str.length != SIZE) {
-            return true;
-        }
-        for (char c : letters) {
-            if (!Character.isAlphabetic(c)) {
-                return true;
+    /**
+     * Most letters that fit in a packed word.
+     */
+    public static final int MAX_LENGTH = (Long.SIZE - Feedback.LENGTH_BITS) / Feedback.BITS;
+
+    /**
+     * @param path   Word list
+     * @param length Word length, others are skipped, or 0 to fail on invalid words instead
+     * @return Distinct packed words, sorted
+     */
+    private static long[] read(Path path, int length) {
+        try {
+            var packed = WordFile.parse(path, length);
+            if (packed != null) {
+                return packed;
+            }
+            try (var lines = Files.lines(path)) {
+                return words(lines, length).mapToLong(Word::packed).toArray();
             }
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read " + path, e);
         }
-        return false;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        return o instanceof Word(var other) && Arrays.equals(this.letters, other);
+    private static List<Word> openers(long[] packed) {
+        return list(packed, OPENERS.length);
     }
 
-    @Override
-    public int hashCode() {
-        return Arrays.hashCode(letters);
+    /**
+     * @param packed Packed words
+     * @param offset Number of {@link #OPENERS} to put first
+     */
+    private static List<Word> list(long[] packed, int offset) {
+        var words = new Word[offset + packed.length];
+        System.arraycopy(OPENERS, 0, words, 0, offset);
+        for (int i = 0; i < packed.length; i++) {
+            words[offset + i] = new Word(packed[i]);
+        }
+        return List.of(words);
+    }
+
+    private static final Word[] OPENERS = {new Word("SLATE"), new Word("CLASP")};
+
+    private static long pack(String letters) {
+        if (invalid(letters)) {
+            throw new IllegalArgumentException("Not a word of 1-" + MAX_LENGTH + " supported letters: " + letters);
+        }
+        var packed = 0L;
+        for (int i = 0; i < letters.length(); i++) {
+            packed |= (long) Feedback.index(letters.charAt(i)) << Long.SIZE - Feedback.BITS * (i + 1);
+        }
+        return packed | letters.length();
+    }
+
+    private static boolean invalid(String letters) {
+        if (letters.isEmpty() || letters.length() > MAX_LENGTH) {
+            return true;
+        }
+        for (int i = 0; i < letters.length(); i++) {
+            if (Feedback.index(letters.charAt(i)) < 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @SuppressWarnings("NullableProblems")
     @Override
     public String toString() {
-        return new String(letters);
+        return new String(letters());
     }
 }
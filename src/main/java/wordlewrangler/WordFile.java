@@ -0,0 +1,227 @@
+package wordlewrangler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Word lists as packed words, straight from the bytes of a file.
+ * <p>
+ * A text word list is memory-mapped and scanned for whitespace-separated words, with each letter packed as it
+ * is read, no strings in between.  The packed words are then sorted as primitives, and duplicates dropped as
+ * neighbours.  Plain ASCII letters and the UTF-8 forms of the other letters in the {@link Feedback#ALPHABET}
+ * are understood, in either case.  Anything else that is not ASCII gives up, for the full decoder in
+ * {@link Word#words(java.util.stream.Stream, int)} to take over.
+ * <p>
+ * A binary word list is the sorted packed words, after a header with a checksum of them.  It loads with no
+ * parsing at all, see {@link Word#toBinary(Path, Path)}.
+ */
+final class WordFile {
+
+    /**
+     * @param path   Text word list
+     * @param length Word length, others are skipped, or 0 to fail on invalid words instead
+     * @return Distinct packed words, in {@link Word} order, or null if the file needs the full decoder
+     */
+    static long[] parse(Path path, int length) throws IOException {
+        var bytes = map(path);
+        var packed = new long[Math.max(16, bytes.limit() / (length > 0 ? length + 1 : Word.CLASSIC_LENGTH + 1))];
+        var count = 0;
+        var position = 0;
+        while (position < bytes.limit()) {
+            if (whitespace(bytes.get(position))) {
+                position++;
+                continue;
+            }
+            var start = position;
+            var word = 0L;
+            var letters = 0;
+            var invalid = false;
+            while (position < bytes.limit() && !whitespace(bytes.get(position))) {
+                var code = letter(bytes, position);
+                if (code == FULL_DECODER) {
+                    return null;
+                }
+                position += bytes.get(position) < 0 ? 2 : 1;
+                if (code == NO_LETTER) {
+                    invalid = true;
+                } else if (letters < Word.MAX_LENGTH) {
+                    word |= (long) code << Long.SIZE - Feedback.BITS * (letters + 1);
+                }
+                letters++;
+            }
+            if (invalid || letters > Word.MAX_LENGTH) {
+                if (length == 0) {
+                    throw new IllegalArgumentException("Not a word of 1-" + Word.MAX_LENGTH + " supported letters: " +
+                                                       text(bytes, start, position));
+                }
+            } else if (length == 0 || letters == length) {
+                if (count == packed.length) {
+                    packed = Arrays.copyOf(packed, count * 2);
+                }
+                packed[count++] = word | letters;
+            }
+        }
+        return distinct(packed, count);
+    }
+
+    /**
+     * @param path Binary word list
+     * @return The packed words
+     * @throws IllegalStateException If the file is not a binary word list, or is damaged
+     */
+    static long[] load(Path path) throws IOException {
+        var bytes = map(path).order(ByteOrder.BIG_ENDIAN);
+        if (bytes.limit() < HEADER_SIZE ||
+            bytes.getInt(0) != MAGIC ||
+            bytes.getInt(4) != VERSION
+        ) {
+            throw new IllegalStateException("Not a binary word list: " + path);
+        }
+        var count = bytes.getInt(8);
+        if (count < 0 || bytes.limit() != HEADER_SIZE + (long) count * Long.BYTES) {
+            throw new IllegalStateException("Truncated word list, expected " + count + " words: " + path);
+        }
+        var crc = new CRC32C();
+        crc.update(bytes.slice(HEADER_SIZE, count * Long.BYTES));
+        if ((int) crc.getValue() != bytes.getInt(12)) {
+            throw new IllegalStateException("Checksum mismatch: " + path);
+        }
+        var packed = new long[count];
+        bytes.slice(HEADER_SIZE, count * Long.BYTES).order(ByteOrder.BIG_ENDIAN).asLongBuffer().get(packed);
+        for (int i = 1; i < count; i++) {
+            if (Long.compareUnsigned(packed[i - 1], packed[i]) >= 0) {
+                throw new IllegalStateException("Unsorted word list at " + i + ": " + path);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * @param path   Target
+     * @param packed Distinct packed words, in {@link Word} order
+     */
+    static void save(Path path, long[] packed) throws IOException {
+        var payload = ByteBuffer.allocate(Math.multiplyExact(packed.length, Long.BYTES)).order(ByteOrder.BIG_ENDIAN);
+        payload.asLongBuffer().put(packed);
+        var crc = new CRC32C();
+        crc.update(payload.duplicate());
+        var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putInt(packed.length)
+            .putInt((int) crc.getValue())
+            .flip();
+        var directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        var temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            for (ByteBuffer buffer : new ByteBuffer[] {header, payload}) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (Exception e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private WordFile() {
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too large: " + path + ", " + channel.size() + " bytes");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Sorts in {@link Word} order, which is unsigned, by flipping the sign bit around a signed sort.
+     */
+    private static long[] distinct(long[] packed, int count) {
+        for (int i = 0; i < count; i++) {
+            packed[i] ^= Long.MIN_VALUE;
+        }
+        Arrays.sort(packed, 0, count);
+        var distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || packed[i] != packed[distinct - 1]) {
+                packed[distinct++] = packed[i];
+            }
+        }
+        for (int i = 0; i < distinct; i++) {
+            packed[i] ^= Long.MIN_VALUE;
+        }
+        return Arrays.copyOf(packed, distinct);
+    }
+
+    /**
+     * @return Code of the letter at the position, {@link #NO_LETTER} if it is some other character, or
+     * {@link #FULL_DECODER}.  A character with a negative first byte took two bytes.
+     */
+    private static int letter(ByteBuffer bytes, int position) {
+        var b = bytes.get(position);
+        if (b >= 'A' && b <= 'Z') {
+            return b - 'A';
+        }
+        if (b >= 'a' && b <= 'z') {
+            return b - 'a';
+        }
+        if (b > ' ' && b < 0x7f) {
+            return NO_LETTER;
+        }
+        if (b != UTF8_LATIN1 || position + 1 == bytes.limit()) {
+            return FULL_DECODER;
+        }
+        var next = bytes.get(position + 1);
+        if ((next & 0xc0) != 0x80 || next == UTF8_SHARP_S) {
+            return FULL_DECODER;
+        }
+        var code = Feedback.index(Character.toUpperCase((char) (0xc0 | next & 0x3f)));
+        return code < 0 ? NO_LETTER : code;
+    }
+
+    private static boolean whitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == 0x0b || b == '\f';
+    }
+
+    private static String text(ByteBuffer bytes, int start, int end) {
+        var text = new byte[end - start];
+        bytes.get(start, text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lead byte of the two-byte UTF-8 forms of {@code U+00C0} to {@code U+00FF}, where the other letters are.
+     */
+    private static final byte UTF8_LATIN1 = (byte) 0xc3;
+
+    /**
+     * Second byte of {@code ß}, which upper-cases to two letters.
+     */
+    private static final byte UTF8_SHARP_S = (byte) 0x9f;
+
+    private static final int NO_LETTER = 0xff;
+
+    private static final int FULL_DECODER = -1;
+
+    private static final int MAGIC = 0x57574457;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+}
@@ -4,7 +4,8 @@ package wordlewrangler;
 public record WordScore(
     Word word,
     double distribution,
-    int eliminated
+    int eliminated,
+    PartitionStats partition
 ) {
 
     @Override
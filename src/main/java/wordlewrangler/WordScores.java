@@ -1,27 +1,174 @@
 package wordlewrangler;
 
-import java.util.Collections;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
-public record WordScores(
-    List<WordScore> scores,
-    int eliminatedMax,
-    double distributionMax
-) {
+/**
+ * The candidates by eliminations, with their letter frequency score and rating.  Kept as columns alongside the
+ * {@link EliminationTable}, and an order to rate them by.  A {@link WordScore} is only created when asked for.
+ */
+public final class WordScores {
 
     public static final WordScores EMPTY =
-        new WordScores(Collections.emptyList(), 0, 0.0);
+        new WordScores(EliminationTable.descending(null, new int[0], new int[0]), new double[0], new PartitionStats[0]);
 
+    /**
+     * @param table      Candidates by eliminations
+     * @param letters    Letter frequencies among the candidates
+     * @param partitions How each candidate partitions the others, by their position in the table's ids
+     * @return Scores
+     */
+    static WordScores of(EliminationTable table, LetterFrequencies letters, PartitionStats[] partitions) {
+        var distributions = new double[table.size()];
+        var byRank = new PartitionStats[table.size()];
+        for (int rank = 0; rank < table.size(); rank++) {
+            distributions[rank] = letters.score(table.word(rank));
+            byRank[rank] = partitions[table.row(rank)];
+        }
+        return new WordScores(table, distributions, byRank);
+    }
+
+    private final EliminationTable table;
+
+    private final double[] distributions;
+
+    private final PartitionStats[] partitions;
+
+    private final int eliminatedMax;
+
+    private final double distributionMax;
+
+    private final double[] ratings;
+
+    private final int[] rated;
+
+    private WordScores(EliminationTable table, double[] distributions, PartitionStats[] partitions) {
+        this.table = table;
+        this.distributions = distributions;
+        this.partitions = partitions;
+        this.eliminatedMax = table.isEmpty() ? 0 : table.eliminated(0);
+        this.distributionMax = Arrays.stream(distributions).max().orElse(0d);
+        this.ratings = new double[table.size()];
+        for (int rank = 0; rank < ratings.length; rank++) {
+            ratings[rank] = (distributions[rank] / distributionMax + 4d * table.eliminated(rank) / eliminatedMax) / 5;
+        }
+        this.rated = rated(ratings);
+    }
+
+    /**
+     * @return The scores, most eliminations first
+     */
+    public List<WordScore> scores() {
+        return new View<>() {
+            @Override
+            public WordScore get(int rank) {
+                return score(rank);
+            }
+        };
+    }
+
+    public int eliminatedMax() {
+        return eliminatedMax;
+    }
+
+    public double distributionMax() {
+        return distributionMax;
+    }
+
+    /**
+     * @return The scores keyed by their rating, a blend of letter frequency and eliminations, best first
+     */
     public List<Map.Entry<Double, WordScore>> ratings() {
-        return scores.stream()
+        return new View<>() {
+            @Override
+            public Map.Entry<Double, WordScore> get(int index) {
+                return Map.entry(rating(index), rated(index));
+            }
+        };
+    }
+
+    /**
+     * @param index Index, in {@link #ratings()} order
+     * @return The rating
+     */
+    public double rating(int index) {
+        return ratings[rated[index]];
+    }
+
+    /**
+     * @param index Index, in {@link #ratings()} order
+     * @return The score
+     */
+    public WordScore rated(int index) {
+        return score(rated[index]);
+    }
+
+    /**
+     * @param metric Metric
+     * @return The scores keyed by their value for the metric, best first
+     */
+    public List<Map.Entry<Double, WordScore>> ratings(PartitionStats.Metric metric) {
+        return scores().stream()
+            .sorted(Comparator.comparing(WordScore::partition, metric.best()))
             .map(score ->
-                Map.entry(score(score), score))
-            .sorted(Map.Entry.<Double, WordScore>comparingByKey().reversed())
+                Map.entry(metric.value(score.partition()), score))
             .toList();
     }
 
-    private double score(WordScore score) {
-        return (score.distribution() / distributionMax + 4d * score.eliminated() / eliminatedMax) / 5;
+    public int size() {
+        return table.size();
+    }
+
+    private WordScore score(int rank) {
+        return new WordScore(table.word(rank), distributions[rank], table.eliminated(rank), partitions[rank]);
+    }
+
+    /**
+     * Places each rank after the ranks with better ratings, and after the ranks before it with the same, by the
+     * first position of its rating among the sorted ratings.
+     *
+     * @return The ranks, best rating first, ties by rank
+     */
+    private static int[] rated(double[] ratings) {
+        var keys = new long[ratings.length];
+        for (int rank = 0; rank < ratings.length; rank++) {
+            var bits = Double.doubleToLongBits(ratings[rank]);
+            keys[rank] = ~(bits ^ bits >> 63 & Long.MAX_VALUE);
+        }
+        var sorted = keys.clone();
+        Arrays.sort(sorted);
+        var placed = new int[ratings.length];
+        var rated = new int[ratings.length];
+        for (int rank = 0; rank < keys.length; rank++) {
+            var first = first(sorted, keys[rank]);
+            rated[first + placed[first]++] = rank;
+        }
+        return rated;
+    }
+
+    private static int first(long[] sorted, long key) {
+        var low = 0;
+        var high = sorted.length;
+        while (low < high) {
+            var middle = low + high >>> 1;
+            if (sorted[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private abstract class View<T> extends AbstractList<T> implements RandomAccess {
+
+        @Override
+        public int size() {
+            return table.size();
+        }
     }
 }
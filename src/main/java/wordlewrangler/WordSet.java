@@ -0,0 +1,191 @@
+package wordlewrangler;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * An immutable set of words from a {@link Dictionary}, as a bitset over their ids.
+ */
+@SuppressWarnings("NullableProblems")
+public final class WordSet extends AbstractSet<Word> {
+
+    public static WordSet all(Dictionary dictionary) {
+        var bits = new long[words(dictionary.size())];
+        for (int id = 0; id < dictionary.size(); id++) {
+            bits[id >>> 6] |= 1L << id;
+        }
+        return new WordSet(dictionary, bits);
+    }
+
+    public static WordSet of(Dictionary dictionary, Collection<Word> words) {
+        if (words instanceof WordSet set && set.dictionary == dictionary) {
+            return set;
+        }
+        var bits = new long[words(dictionary.size())];
+        for (Word word : words) {
+            var id = dictionary.id(word);
+            if (id < 0) {
+                throw new IllegalArgumentException("Not in dictionary: " + word);
+            }
+            bits[id >>> 6] |= 1L << id;
+        }
+        return new WordSet(dictionary, bits);
+    }
+
+    static WordSet of(Dictionary dictionary, int[] ids) {
+        var bits = new long[words(dictionary.size())];
+        for (int id : ids) {
+            bits[id >>> 6] |= 1L << id;
+        }
+        return new WordSet(dictionary, bits);
+    }
+
+    private final Dictionary dictionary;
+
+    private final long[] bits;
+
+    private final int size;
+
+    WordSet(Dictionary dictionary, long[] bits) {
+        this.dictionary = dictionary;
+        this.bits = bits;
+        var size = 0;
+        for (long word : bits) {
+            size += Long.bitCount(word);
+        }
+        this.size = size;
+    }
+
+    public Dictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return Ids of the words, ascending
+     */
+    public int[] ids() {
+        var ids = new int[size];
+        var i = 0;
+        for (int id = nextId(0); id >= 0; id = nextId(id + 1)) {
+            ids[i++] = id;
+        }
+        return ids;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && (bits[id >>> 6] & 1L << id) != 0;
+    }
+
+    /**
+     * @param words Words to remove
+     * @return This set without the words, or this set if it had none of them
+     */
+    public WordSet without(Collection<Word> words) {
+        long[] bits = null;
+        for (Word word : words) {
+            var id = dictionary.id(word);
+            if (contains(id)) {
+                if (bits == null) {
+                    bits = this.bits.clone();
+                }
+                bits[id >>> 6] &= ~(1L << id);
+            }
+        }
+        return bits == null ? this : new WordSet(dictionary, bits);
+    }
+
+    /**
+     * @param ids Test for ids to keep
+     * @return This set with only the words passing the test, or this set if all of them did
+     */
+    WordSet retain(IntPredicate ids) {
+        long[] bits = null;
+        for (int id = nextId(0); id >= 0; id = nextId(id + 1)) {
+            if (!ids.test(id)) {
+                if (bits == null) {
+                    bits = this.bits.clone();
+                }
+                bits[id >>> 6] &= ~(1L << id);
+            }
+        }
+        return bits == null ? this : new WordSet(dictionary, bits);
+    }
+
+    long[] bits() {
+        return bits.clone();
+    }
+
+    /**
+     * @param index Index of a word of bits
+     * @return The bits for ids {@code 64 * index} and up
+     */
+    long bits(int index) {
+        return bits[index];
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Word word && contains(dictionary.id(word));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Word> iterator() {
+        return new Iterator<>() {
+
+            private int id = nextId(0);
+
+            @Override
+            public boolean hasNext() {
+                return id >= 0;
+            }
+
+            @Override
+            public Word next() {
+                if (id < 0) {
+                    throw new NoSuchElementException();
+                }
+                var word = dictionary.get(id);
+                id = nextId(id + 1);
+                return word;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WordSet set && set.dictionary == dictionary
+            ? Arrays.equals(bits, set.bits)
+            : super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private int nextId(int from) {
+        var index = from >>> 6;
+        if (index >= bits.length) {
+            return -1;
+        }
+        var word = bits[index] & -1L << from;
+        while (true) {
+            if (word != 0) {
+                return index * 64 + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == bits.length) {
+                return -1;
+            }
+            word = bits[index];
+        }
+    }
+
+    static int words(int size) {
+        return size + 63 >>> 6;
+    }
+}
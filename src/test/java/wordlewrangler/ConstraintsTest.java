@@ -11,8 +11,8 @@ class ConstraintsTest {
         var parse = Constraints.parse(new Word("GOOBR"), "FUUUP");
         assertThat(parse).containsExactlyInAnyOrder(
             new Constraint.Green('G', 0),
-            new Constraint.Grey('O'),
-            new Constraint.Grey('B'),
+            Constraint.Grey.everywhere('O', 5),
+            Constraint.Grey.everywhere('B', 5),
             new Constraint.Yellow('R', 4)
         );
     }
@@ -21,11 +21,11 @@ class ConstraintsTest {
     public void testParse2() {
         var parse = Constraints.parse(new Word("ABCDE"), "UUUUU");
         assertThat(parse).containsExactlyInAnyOrder(
-            new Constraint.Grey('A'),
-            new Constraint.Grey('B'),
-            new Constraint.Grey('C'),
-            new Constraint.Grey('D'),
-            new Constraint.Grey('E')
+            Constraint.Grey.everywhere('A', 5),
+            Constraint.Grey.everywhere('B', 5),
+            Constraint.Grey.everywhere('C', 5),
+            Constraint.Grey.everywhere('D', 5),
+            Constraint.Grey.everywhere('E', 5)
         );
     }
 
@@ -33,10 +33,23 @@ class ConstraintsTest {
     public void testParse3() {
         var parse = Constraints.parse(new Word("FATAL"), "UPUUP");
         assertThat(parse).containsExactlyInAnyOrder(
-            new Constraint.Grey('F'),
+            Constraint.Grey.everywhere('F', 5),
             new Constraint.Yellow('A', 1, 3),
-            new Constraint.Grey('T'),
+            Constraint.Grey.everywhere('T', 5),
             new Constraint.Yellow('L', 4)
         );
     }
+
+    @Test
+    public void greyEverywhereByFlag() {
+        var everywhere = new Constraint.Grey('X', new int[] {0, 1, 2, 3, 4}, true);
+        assertThat(everywhere.merge(new Constraint.Grey('X', 2))).isSameAs(everywhere);
+        assertThat(new Constraint.Grey('X', 2).merge(everywhere)).isSameAs(everywhere);
+        assertThat(everywhere).isEqualTo(Constraint.Grey.everywhere('X', 5));
+
+        var fourOfFive = new Constraint.Grey('X', new int[] {0, 1, 2, 3});
+        var merged = (Constraint.Grey) fourOfFive.merge(new Constraint.Grey('X', 4));
+        assertThat(merged.everywhere()).isFalse();
+        assertThat(merged.eliminates("ABCDX".toCharArray())).isTrue();
+    }
 }
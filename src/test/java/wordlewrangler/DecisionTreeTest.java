@@ -0,0 +1,112 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecisionTreeTest {
+
+    @Test
+    void findsEverySolution() {
+        var dictionary = Dictionary.of(Word.fromFile("words-expanded.txt"));
+        var tree = DecisionTree.build(dictionary);
+        long total = 0;
+        var worst = 0;
+        for (Word solution : dictionary) {
+            var guesses = tree.guesses(solution);
+            total += guesses;
+            worst = Math.max(worst, guesses);
+        }
+        assertThat(tree.stats()).isEqualTo(new DecisionTree.Stats(dictionary.size(), total, worst));
+        assertThat(tree.opener()).isEqualTo(new Game(dictionary).hottestCandidates().getFirst().word());
+        System.out.println(tree);
+    }
+
+    @Test
+    void servesGreedyGames() {
+        var dictionary = Dictionary.of(Word.fromFile("words-expanded.txt"));
+        var tree = DecisionTree.build(dictionary);
+        for (int i = 0; i < dictionary.size(); i += 37) {
+            var solution = dictionary.get(i);
+            var game = new Game(dictionary);
+            var guesses = 0;
+            for (var next = tree.next(game); next != null; next = tree.next(game)) {
+                if (guesses > 0) {
+                    assertThat(next).isEqualTo(game.hottestCandidates().getFirst().word());
+                }
+                game = game.tried(next.toString(), Feedback.spec(Feedback.pattern(next, solution)));
+                guesses++;
+                if (next.equals(solution)) {
+                    break;
+                }
+            }
+            assertThat(game.lastGuess()).isEqualTo(solution);
+            assertThat(guesses).isEqualTo(tree.guesses(solution));
+        }
+        assertThat(tree.next(new Game(dictionary).tried("ZEBRA", "UUUUU"))).isNull();
+    }
+
+    @Test
+    void playsAsStrategy() {
+        var dictionary = Dictionary.of(Word.fromFile("words-expanded.txt"));
+        var tree = DecisionTree.build(dictionary);
+        var random = new Random(42);
+        for (int i = 0; i < dictionary.size(); i += 41) {
+            var solution = dictionary.get(i);
+            var game = new Game(dictionary).set(solution);
+            while (!game.done()) {
+                game = game.guessWord(tree, random);
+            }
+            assertThat(game.guesses()).hasSize(tree.guesses(solution));
+        }
+        var left = new Game(dictionary).set(dictionary.getFirst()).tryWord("ZEBRA");
+        assertThat(tree.best(left)).isEqualTo(GuessStrategy.Builtin.MAX_AVERAGE_ELIMINATION.best(left));
+    }
+
+    @Test
+    void sharesSubtrees() {
+        var dictionary = Dictionary.of(Word.fromFile("words-expanded.txt"));
+        var memo = SolverCache.of(1_000_000);
+        var slate = DecisionTree.build(dictionary, new Word("SLATE"), memo);
+        var misses = memo.stats().misses();
+        var again = DecisionTree.build(dictionary, new Word("SLATE"), memo);
+        assertThat(again.root().children()[0]).isSameAs(slate.root().children()[0]);
+        assertThat(memo.stats().misses()).isEqualTo(misses);
+        assertThat(again.stats()).isEqualTo(slate.stats());
+    }
+
+    @Test
+    void savesAndLoads(@TempDir Path directory) throws IOException {
+        var dictionary = Dictionary.of(Word.fromFile("words-expanded.txt"));
+        var tree = DecisionTree.build(dictionary);
+        var path = directory.resolve("tree.bin");
+        tree.save(path);
+        var loaded = DecisionTree.load(dictionary, path);
+        assertThat(loaded.stats()).isEqualTo(tree.stats());
+        for (Word solution : dictionary) {
+            assertThat(loaded.guesses(solution)).isEqualTo(tree.guesses(solution));
+        }
+        assertThat(DecisionTree.load(Dictionary.of(Word.fromFile("words.txt")), path)).isNull();
+    }
+
+    @Test
+    void savesAndLoadsLongerWords(@TempDir Path directory) throws IOException {
+        var dictionary = Dictionary.of(Word.fromFile("words-expanded.txt").stream()
+            .map(word -> new Word(word + "S"))
+            .distinct()
+            .toList());
+        var tree = DecisionTree.build(dictionary, null, SolverCache.of(1_000_000));
+        var path = directory.resolve("tree.bin");
+        tree.save(path);
+        var loaded = DecisionTree.load(dictionary, path);
+        assertThat(loaded.stats()).isEqualTo(tree.stats());
+        for (Word solution : dictionary) {
+            assertThat(loaded.guesses(solution)).isEqualTo(tree.guesses(solution));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EliminationsTest {
+
+    @Test
+    void averageMatchesPartitions() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UPUUU");
+        var descending = game.hotCandidatesDescending();
+        var partitions = game.partitions(PartitionStats.Metric.EXPECTED_REMAINING);
+
+        assertThat(descending).hasSize(partitions.size());
+        assertThat(descending.stream().map(WordElim::eliminated).toList())
+            .containsExactlyElementsOf(partitions.stream().map(PartitionStats::eliminated).toList());
+    }
+
+    @Test
+    void deterministic() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUPUU");
+        var descending = game.hotCandidatesDescending();
+        for (int i = 0; i < 5; i++) {
+            assertThat(game.hotCandidatesDescending()).containsExactlyElementsOf(descending);
+        }
+        var dictionary = game.dictionary();
+        for (int i = 1; i < descending.size(); i++) {
+            var previous = descending.get(i - 1);
+            var current = descending.get(i);
+            assertThat(previous.eliminated()).isGreaterThanOrEqualTo(current.eliminated());
+            if (previous.eliminated() == current.eliminated()) {
+                assertThat(dictionary.id(previous.word())).isLessThan(dictionary.id(current.word()));
+            }
+        }
+        var hottest = game.hottestCandidates();
+        assertThat(hottest).containsExactlyElementsOf(descending.subList(0, hottest.size()));
+        assertThat(descending.get(hottest.size()).eliminated()).isLessThan(hottest.getFirst().eliminated());
+    }
+
+    @Test
+    void tableColumnsMatchViews() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUPUU");
+        var table = game.hotCandidatesDescending();
+        for (int rank = 0; rank < table.size(); rank++) {
+            var elim = table.get(rank);
+            assertThat(table.word(rank)).isEqualTo(elim.word());
+            assertThat(table.id(rank)).isEqualTo(game.dictionary().id(elim.word()));
+            assertThat(table.eliminated(rank)).isEqualTo(elim.eliminated());
+        }
+        var scores = game.wordScores();
+        assertThat(scores.scores().stream().map(WordScore::word).toList())
+            .containsExactlyElementsOf(table.stream().map(WordElim::word).toList());
+        var sorted = scores.scores().stream()
+            .map(score -> Map.entry(
+                (score.distribution() / scores.distributionMax() +
+                 4d * score.eliminated() / scores.eliminatedMax()) / 5,
+                score
+            ))
+            .sorted(Map.Entry.<Double, WordScore>comparingByKey().reversed())
+            .toList();
+        assertThat(scores.ratings()).containsExactlyElementsOf(sorted);
+    }
+
+    @Test
+    void unorderedTableKeepsIds() {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        var table = EliminationTable.unordered(dictionary, new int[] { 7, 3, 5 }, new int[] { -1, 4, 4 });
+        assertThat(IntStream.range(0, table.size()).map(table::id).boxed().toList()).isEqualTo(List.of(3, 5, 7));
+        assertThat(IntStream.range(0, table.size()).map(table::eliminated).boxed().toList())
+            .isEqualTo(List.of(4, 4, -1));
+    }
+
+    @Test
+    void againstSolution() {
+        var game = new Game(Word.fromFile("words.txt")).set("TAUNT").tryWord("SLATE");
+        var candidates = game.candidates().stream().toList();
+        var solution = new Word("TAUNT");
+        for (WordElim elim : game.hotCandidatesDescending()) {
+            var pattern = Feedback.pattern(elim.word(), solution);
+            assertThat(elim.eliminated()).isEqualTo(candidates.stream()
+                .filter(candidate -> Feedback.pattern(elim.word(), candidate) != pattern)
+                .count());
+        }
+    }
+
+    @Test
+    void topSameAsDescending() {
+        var game = new Game(Word.fromFile("words.txt"));
+        for (Game tried : List.of(
+            game.tried("SLATE", "UUUUU"),
+            game.tried("SLATE", "UUPUF"),
+            game.set("TAUNT").tryWord("SLATE")
+        )) {
+            var descending = tried.hotCandidatesDescending();
+            for (int k : List.of(1, 2, 7, 50, descending.size(), descending.size() + 10)) {
+                assertThat(tried.topCandidates(k))
+                    .containsExactlyElementsOf(descending.subList(0, Math.min(k, descending.size())));
+            }
+            assertThat(tried.topCandidates(0)).isEmpty();
+        }
+    }
+
+    @Test
+    void prunedHottestSameAsFull() {
+        var game = new Game(Word.fromFile("words.txt"));
+        var dictionary = game.dictionary();
+        for (String spec : List.of("UUUUU", "PUUUU", "UUPUF")) {
+            var ids = dictionary.ids(game.tried("SLATE", spec).candidates());
+            assertThat(Eliminations.hottest(dictionary, ids, ids, -1))
+                .containsExactlyElementsOf(Eliminations.average(dictionary, ids).hottest());
+            var solution = ids[ids.length / 2];
+            assertThat(Eliminations.hottest(dictionary, ids, ids, solution))
+                .containsExactlyElementsOf(Eliminations.against(dictionary, ids, solution).hottest());
+        }
+    }
+
+    @Test
+    void boundedSameAsExhaustive() {
+        var game = new Game(Word.fromFile("words.txt"));
+        var dictionary = game.dictionary();
+        var all = IntStream.range(0, dictionary.size()).toArray();
+        for (String spec : List.of("UUPUF", "UUUUU", "PUUUU", "UFUUU", "FFUUU")) {
+            var tried = game.tried("SLATE", spec);
+            var ids = dictionary.ids(tried.candidates());
+            assertThat(tried.hottestGuesses())
+                .containsExactlyElementsOf(Eliminations.average(dictionary, all, ids).hottest());
+        }
+    }
+
+    @Test
+    void boundsHold() {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        var game = new Game(dictionary).tried("CRANE", "UUPUU");
+        var ids = dictionary.ids(game.candidates());
+        var bounds = GuessBounds.of(dictionary, ids);
+        var matrix = dictionary.matrix();
+        var exact = Eliminations.average(dictionary, IntStream.range(0, dictionary.size()).toArray(), ids).descending();
+        for (WordElim elim : exact) {
+            var guess = dictionary.id(elim.word());
+            assertThat(bounds.eliminated(elim.word().packed())).isGreaterThanOrEqualTo(elim.eliminated());
+            var buckets = Arrays.stream(ids).map(id -> matrix.pattern(guess, id)).distinct().count();
+            assertThat(bounds.buckets(elim.word().packed())).isGreaterThanOrEqualTo((int) buckets);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedbackMatrixTest {
+
+    @Test
+    void matchesFeedback() {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        var matrix = FeedbackMatrix.build(dictionary);
+        for (int guess = 0; guess < dictionary.size(); guess += 11) {
+            for (int solution = 0; solution < dictionary.size(); solution++) {
+                assertThat(matrix.pattern(guess, solution))
+                    .isEqualTo(Feedback.pattern(dictionary.get(guess), dictionary.get(solution)));
+            }
+        }
+    }
+
+    @Test
+    void widerPatterns(@TempDir Path temp) throws IOException {
+        var words = Word.fromFile("words.txt").subList(0, 300);
+        for (var dictionary : List.of(
+            Dictionary.of(words.stream().map(word -> new Word(word + "S")).distinct().toList()),
+            Dictionary.of(words.stream().map(word -> new Word(word + "" + word + "S")).distinct().toList())
+        )) {
+            var directory = Files.createDirectory(temp.resolve(String.valueOf(dictionary.length())));
+            var built = FeedbackMatrix.of(dictionary, directory);
+            FeedbackMatrix loaded;
+            try (var files = Files.list(directory)) {
+                loaded = FeedbackMatrix.load(dictionary, files.findFirst().orElseThrow());
+            }
+            assertThat(built.patterns()).isEqualTo(Feedback.patterns(dictionary.length()));
+            for (int guess = 0; guess < dictionary.size(); guess += 7) {
+                for (int solution = 0; solution < dictionary.size(); solution++) {
+                    var pattern = Feedback.pattern(dictionary.get(guess), dictionary.get(solution));
+                    assertThat(built.pattern(guess, solution)).isEqualTo(pattern);
+                    assertThat(loaded.pattern(guess, solution)).isEqualTo(pattern);
+                }
+            }
+        }
+    }
+
+    @Test
+    void savesAndMaps(@TempDir Path directory) throws IOException {
+        var dictionary = Dictionary.of(Word.fromFile("words-expanded.txt"));
+
+        var built = FeedbackMatrix.of(dictionary, directory);
+        try (var files = Files.list(directory)) {
+            assertThat(files.toList()).hasSize(1);
+        }
+        var loaded = FeedbackMatrix.of(dictionary, directory);
+        for (int guess = 0; guess < dictionary.size(); guess += 7) {
+            for (int solution = 0; solution < dictionary.size(); solution += 11) {
+                assertThat(loaded.pattern(guess, solution)).isEqualTo(built.pattern(guess, solution));
+            }
+        }
+    }
+
+    @Test
+    void ignoresOtherDictionaries(@TempDir Path directory) throws IOException {
+        var dictionary = Dictionary.of(Word.fromFile("words-expanded.txt"));
+        FeedbackMatrix.of(dictionary, directory);
+        Path path;
+        try (var files = Files.list(directory)) {
+            path = files.findFirst().orElseThrow();
+        }
+        var other = Dictionary.of(dictionary.subList(1, dictionary.size()));
+        assertThat(FeedbackMatrix.load(other, path)).isNull();
+    }
+
+    @Test
+    void interned() {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        assertThat(Dictionary.of(Word.fromFile("words.txt"))).isSameAs(dictionary);
+        assertThat(dictionary.id(new Word("SLATE"))).isEqualTo(0);
+        assertThat(dictionary.size()).isEqualTo(dictionary.stream().distinct().count());
+    }
+
+    @Test
+    void internedWeakly() throws Exception {
+        var reference = new WeakReference<>(Dictionary.of(Word.words("FOOBA ROBOT TABOO BURNT BOOBY")));
+        var id = reference.get().id();
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(reference.get()).isNull();
+        assertThat(Dictionary.interned(id)).isNull();
+        assertThat(Dictionary.of(Word.words("FOOBA ROBOT TABOO BURNT BOOBY")).id()).isEqualTo(id);
+    }
+}
@@ -0,0 +1,132 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedbackTest {
+
+    @Test
+    void solved() {
+        assertThat(pattern("SLATE", "SLATE")).isEqualTo(Feedback.SOLVED);
+        assertThat(Feedback.spec(Feedback.SOLVED)).isEqualTo("FFFFF");
+        assertThat(pattern("SLATE", "CORNY")).isEqualTo(0);
+    }
+
+    @Test
+    void specRoundTrip() {
+        for (int pattern = 0; pattern < Feedback.PATTERNS; pattern++) {
+            assertThat(Feedback.parse(Feedback.spec(pattern))).isEqualTo(pattern);
+        }
+    }
+
+    @Test
+    void duplicatesInGuess() {
+        assertThat(spec("SPEED", "ABIDE")).isEqualTo("UUPUP");
+        assertThat(spec("GEESE", "THEME")).isEqualTo("UUFUF");
+        assertThat(spec("FOOBA", "ROBOT")).isEqualTo("UFPPU");
+    }
+
+    @Test
+    void duplicatesInSolution() {
+        assertThat(spec("PAINT", "TAUNT")).isEqualTo("UFUFF");
+        assertThat(spec("ALLEY", "LLAMA")).isEqualTo("PFPUU");
+        assertThat(spec("TENTH", "TAUNT")).isEqualTo("FUPPU");
+    }
+
+    @Test
+    void otherLengths() {
+        assertThat(Feedback.spec(pattern("BANANA", "ANANAS"), 6)).isEqualTo("UPPPPP");
+        assertThat(Feedback.spec(pattern("ANANAS", "BANANA"), 6)).isEqualTo("PPPPPU");
+        assertThat(pattern("WRANGLERS", "WRANGLERS")).isEqualTo(Feedback.solved(9));
+        assertThat(Feedback.spec(pattern("AB", "BA"), 2)).isEqualTo("PP");
+        for (int pattern = 0; pattern < Feedback.patterns(6); pattern++) {
+            assertThat(Feedback.parse(Feedback.spec(pattern, 6))).isEqualTo(pattern);
+        }
+        assertThat(Feedback.patterns(Word.MAX_LENGTH)).isEqualTo(531441);
+        assertThat(Feedback.width(5)).isEqualTo(1);
+        assertThat(Feedback.width(6)).isEqualTo(2);
+        assertThat(Feedback.width(11)).isEqualTo(4);
+    }
+
+    @Test
+    void constraintsKeepMatchingLongerCandidates() {
+        var words = Dictionary.of(words().stream().map(word -> new Word(word + "S")).toList());
+        var game = new Game(words);
+        for (int g = 0; g < words.size(); g += 197) {
+            var guess = words.get(g);
+            var patterns = words.stream()
+                .collect(Collectors.groupingBy(solution -> Feedback.pattern(guess, solution)));
+            patterns.forEach((pattern, solutions) ->
+                assertThat(game.tried(guess, pattern).candidates())
+                    .containsExactlyInAnyOrderElementsOf(solutions));
+        }
+    }
+
+    @Test
+    void sameAsConstraintsWithoutDuplicates() {
+        var words = words();
+        for (int g = 0; g < words.size(); g += 5) {
+            var guess = words.get(g);
+            if (!distinct(guess)) {
+                continue;
+            }
+            for (Word solution : words) {
+                if (distinct(solution)) {
+                    assertThat(spec(guess, solution)).isEqualTo(constraintSpec(guess, solution));
+                }
+            }
+        }
+    }
+
+    @Test
+    void constraintsKeepMatchingCandidates() {
+        var words = words();
+        var game = new Game(words);
+        for (int g = 0; g < words.size(); g += 97) {
+            var guess = words.get(g);
+            var patterns = words.stream()
+                .collect(Collectors.groupingBy(solution -> Feedback.pattern(guess, solution)));
+            patterns.forEach((pattern, solutions) ->
+                assertThat(game.tried(guess.toString(), Feedback.spec(pattern)).candidates())
+                    .containsAll(solutions));
+        }
+    }
+
+    private static List<Word> words() {
+        return List.copyOf(new LinkedHashSet<>(Word.fromFile(Path.of("words.txt"))));
+    }
+
+    private static boolean distinct(Word word) {
+        return word.toString().chars().distinct().count() == word.length();
+    }
+
+    private static String constraintSpec(Word guess, Word solution) {
+        var spec = new StringBuilder();
+        for (int i = 0; i < guess.length(); i++) {
+            spec.append(switch (solution.constraintFor(guess.letters()[i], i)) {
+                case Constraint.Green _ -> 'F';
+                case Constraint.Yellow _ -> 'P';
+                case Constraint.Grey _ -> 'U';
+            });
+        }
+        return spec.toString();
+    }
+
+    private static int pattern(String guess, String solution) {
+        return Feedback.pattern(new Word(guess), new Word(solution));
+    }
+
+    private static String spec(String guess, String solution) {
+        return Feedback.spec(pattern(guess, solution));
+    }
+
+    private static String spec(Word guess, Word solution) {
+        return Feedback.spec(Feedback.pattern(guess, solution));
+    }
+}
@@ -0,0 +1,98 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameSnapshotTest {
+
+    @Test
+    void restoresSecretGame() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUPUF").tried("CRONY", "UUUUU");
+        var snapshot = game.snapshot(false);
+        assertThat(snapshot.length).isEqualTo(2 + Long.BYTES + 1 + 2 * (4 + 1));
+        assertThat(Game.restore(snapshot)).isEqualTo(game);
+        assertThat(Game.restore(game.snapshot())).isEqualTo(game);
+        assertThat(game.snapshot().length).isLessThan(64);
+    }
+
+    @Test
+    void restoresKnownGame() {
+        var game = new Game(Word.fromFile("words.txt")).set("TAUNT").tryWord("SLATE");
+        for (boolean candidates : List.of(true, false)) {
+            var restored = Game.restore(game.snapshot(candidates));
+            assertThat(restored).isEqualTo(game);
+            assertThat(restored.tryWord("TAUNT").done()).isTrue();
+        }
+    }
+
+    @Test
+    void restoresPast() {
+        var words = Word.fromFile("words.txt");
+        var game = new Game(words).tried("SLATE", "UUPUF").past(words.subList(100, 2000));
+        for (boolean candidates : List.of(true, false)) {
+            var restored = Game.restore(game.snapshot(candidates));
+            assertThat(restored).isEqualTo(game);
+            assertThat(restored.candidates()).containsExactlyElementsOf(game.candidates());
+        }
+    }
+
+    @Test
+    void restoresLongerWords() {
+        var dictionary = Dictionary.of(Word.words("ABCDEFGHIJKL ABCDEFGHIJKZ ZBCDEFGHIJKL LKJIHGFEDCBA"));
+        var game = new Game(dictionary).set("ZBCDEFGHIJKL").tryWord("ABCDEFGHIJKZ");
+        assertThat(Game.restore(game.snapshot(false))).isEqualTo(game);
+        assertThat(Game.restore(game.snapshot())).isEqualTo(game);
+    }
+
+    @Test
+    void writesToBuffer() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUPUF");
+        var buffer = ByteBuffer.allocate(256);
+        for (int i = 0; i < 3; i++) {
+            GameSnapshot.write(game, true, buffer);
+        }
+        assertThat(buffer.position()).isEqualTo(3 * GameSnapshot.size(game, true));
+        buffer.flip();
+        for (int i = 0; i < 3; i++) {
+            assertThat(GameSnapshot.read(buffer)).isEqualTo(game);
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void rejectsInvalid() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUPUF");
+        var snapshot = game.snapshot();
+        assertThatThrownBy(() -> Game.restore(Arrays.copyOf(snapshot, snapshot.length - 1)))
+            .isInstanceOf(IllegalArgumentException.class);
+        var other = snapshot.clone();
+        other[2] ^= 1;
+        assertThatThrownBy(() -> Game.restore(other)).hasMessageContaining("Unknown dictionary");
+        var expanded = Dictionary.of(Word.fromFile("words-expanded.txt"));
+        assertThatThrownBy(() -> GameSnapshot.read(ByteBuffer.wrap(snapshot), expanded))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsHugeCounts() {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        var guesses = ByteBuffer.allocate(32).put((byte) 1).put((byte) 0).putLong(dictionary.id())
+            .put(new byte[] { -1, -1, -1, -1, 7 })
+            .flip();
+        assertThatThrownBy(() -> GameSnapshot.read(guesses, dictionary))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Count beyond");
+        var candidates = ByteBuffer.allocate(32).put((byte) 1).put((byte) 2).putLong(dictionary.id())
+            .put(new byte[] { 0, 2, -1, -1, -1, -1, 7 })
+            .flip();
+        assertThatThrownBy(() -> GameSnapshot.read(candidates, dictionary))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Count beyond");
+    }
+}
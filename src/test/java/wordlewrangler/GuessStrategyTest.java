@@ -0,0 +1,60 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GuessStrategyTest {
+
+    @Test
+    void bestAreCandidates() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUPUF");
+        for (GuessStrategy.Builtin strategy : GuessStrategy.Builtin.values()) {
+            assertThat(strategy.best(game)).isNotEmpty();
+            assertThat(game.candidates()).containsAll(strategy.best(game));
+        }
+    }
+
+    @Test
+    void sameAsGame() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUPUF");
+        var known = new Game(Word.fromFile("words.txt")).set("ABODE").tryWord("SLATE");
+        assertThat(GuessStrategy.Builtin.MAX_AVERAGE_ELIMINATION.best(game))
+            .containsExactlyElementsOf(game.hottestCandidates().stream().map(WordElim::word).toList());
+        assertThat(GuessStrategy.Builtin.MAX_AVERAGE_ELIMINATION.best(known))
+            .containsExactlyElementsOf(game.hottestCandidates().stream().map(WordElim::word).toList());
+        assertThat(GuessStrategy.Builtin.MINIMAX.best(game))
+            .containsExactlyElementsOf(game.hottestCandidates(PartitionStats.Metric.LARGEST)
+                .stream().map(WordElim::word).toList());
+        assertThat(GuessStrategy.Builtin.RANDOM.best(game)).containsExactlyElementsOf(game.candidates());
+    }
+
+    @Test
+    void letterFrequency() {
+        var game = new Game(Word.words("CRANE CRATE GRATE TRACE"));
+        var distribution = game.distribution();
+        var best = GuessStrategy.Builtin.LETTER_FREQUENCY.best(game);
+        assertThat(best).isNotEmpty();
+        for (Word word : game.candidates()) {
+            assertThat(distribution.score(word)).isLessThanOrEqualTo(distribution.score(best.getFirst()));
+        }
+    }
+
+    @Test
+    void cheapFirst() {
+        assertThat(GuessStrategy.Builtin.LETTER_FREQUENCY.complexity()
+            .compareTo(GuessStrategy.Builtin.ENTROPY.complexity())).isNegative();
+    }
+
+    @Test
+    void playsToTheEnd() {
+        var random = new SplittableRandom(1);
+        var game = new Game(Word.fromFile("words.txt")).set("TAUNT");
+        while (!game.done()) {
+            game = game.guessWord(GuessStrategy.Builtin.LETTER_FREQUENCY, random);
+        }
+        assertThat(game.lastGuess()).isEqualTo(new Word("TAUNT"));
+    }
+}
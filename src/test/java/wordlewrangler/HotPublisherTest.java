@@ -0,0 +1,193 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotPublisherTest {
+
+    @Test
+    void coversDescending() throws Exception {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUUUU");
+        var chunks = collect(game.hotCandidatesPublisher(5));
+
+        assertThat(chunks).isNotEmpty();
+        assertThat(chunks.getLast().last()).isTrue();
+        assertThat(chunks.subList(0, chunks.size() - 1).stream().filter(HotPublisher.Chunk::last).toList()).isEmpty();
+        assertThat(chunks.getLast().evaluated()).isEqualTo(game.candidates().size());
+
+        var descending = game.hotCandidatesDescending();
+        var scored = chunks.stream()
+            .flatMap(chunk -> chunk.scored().stream())
+            .sorted(Comparator.comparingInt(WordElim::eliminated).reversed()
+                .thenComparingInt(elim -> game.dictionary().id(elim.word())))
+            .toList();
+        assertThat(scored).containsExactlyElementsOf(descending);
+        assertThat(chunks.getLast().top()).containsExactlyElementsOf(descending.subList(0, 5));
+    }
+
+    @Test
+    void againstSolution() throws Exception {
+        var game = new Game(Word.fromFile("words.txt")).set("TAUNT").tryWord("CRONY");
+        var chunks = collect(game.hotCandidatesPublisher(3));
+        assertThat(chunks.getLast().top()).containsExactlyElementsOf(game.hotCandidatesDescending().subList(0, 3));
+    }
+
+    @Test
+    void topImproves() throws Exception {
+        var game = new Game(Word.fromFile("wordsish.txt"));
+        var chunks = collect(game.hotCandidatesPublisher(1));
+        assertThat(chunks.size()).isGreaterThan(1);
+        for (int i = 1; i < chunks.size(); i++) {
+            assertThat(chunks.get(i).evaluated()).isGreaterThan(chunks.get(i - 1).evaluated());
+            assertThat(chunks.get(i).top().getFirst().eliminated())
+                .isGreaterThanOrEqualTo(chunks.get(i - 1).top().getFirst().eliminated());
+        }
+        assertThat(chunks.getLast().top()).containsExactlyElementsOf(game.hotCandidatesDescending().subList(0, 1));
+    }
+
+    @Test
+    void noneWanted() throws Exception {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUUUU");
+        var chunks = collect(game.hotCandidatesPublisher(0));
+        assertThat(chunks.getLast().last()).isTrue();
+        assertThat(chunks.stream().filter(chunk -> !chunk.top().isEmpty()).toList()).isEmpty();
+        assertThatThrownBy(() -> game.hotCandidatesPublisher(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void noCandidates() throws Exception {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "FFFFF").tried("CRANE", "FFFFF");
+        assertThat(game.candidates()).isEmpty();
+        var chunks = collect(game.hotCandidatesPublisher(1));
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.getFirst().last()).isTrue();
+        assertThat(chunks.getFirst().scored()).isEmpty();
+    }
+
+    @Test
+    void failsWhenRejected() {
+        var game = new Game(Word.fromFile("words.txt"));
+        var publisher = game.hotCandidatesPublisher(1, _ -> {
+            throw new RejectedExecutionException("Full");
+        });
+        assertThatThrownBy(() -> collect(publisher))
+            .isInstanceOf(ExecutionException.class)
+            .hasMessageContaining(RejectedExecutionException.class.getName());
+    }
+
+    @Test
+    void waitsAndStopsWhenCancelled() throws Exception {
+        var game = new Game(words("ABCDE"));
+        var first = new CompletableFuture<Flow.Subscription>();
+        var done = new CompletableFuture<Void>();
+        var scan = new CompletableFuture<Thread>();
+        var before = SolverCounters.counts();
+        game.hotCandidatesPublisher(1, runnable -> scan.complete(Thread.ofVirtual().start(() -> {
+            try {
+                runnable.run();
+            } finally {
+                done.complete(null);
+            }
+        }))).subscribe(new Flow.Subscriber<>() {
+
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(HotPublisher.Chunk item) {
+                first.complete(subscription);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                first.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        var subscription = first.get(1, TimeUnit.MINUTES);
+        var deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (!waitingToSubmit(scan.get()) && System.nanoTime() < deadline) {
+            assertThat(done.isDone()).isFalse();
+            Thread.yield();
+        }
+        assertThat(waitingToSubmit(scan.get())).isTrue();
+        var waiting = SolverCounters.counts().since(before).evaluated();
+        assertThat(waiting).isLessThan(game.candidates().size());
+        assertThat(SolverCounters.counts().since(before).evaluated()).isEqualTo(waiting);
+        subscription.cancel();
+        done.get(1, TimeUnit.MINUTES);
+        assertThat(SolverCounters.counts().since(before).evaluated()).isLessThan(game.candidates().size());
+    }
+
+    /**
+     * Parked in submit, which only happens while the subscriber has all it asked for and the buffer is full.
+     */
+    private static boolean waitingToSubmit(Thread thread) {
+        return thread.getState() == Thread.State.WAITING && Arrays.stream(thread.getStackTrace())
+            .anyMatch(frame ->
+                frame.getClassName().equals(SubmissionPublisher.class.getName()) &&
+                frame.getMethodName().equals("submit"));
+    }
+
+    private static List<HotPublisher.Chunk> collect(Flow.Publisher<HotPublisher.Chunk> publisher) throws Exception {
+        var chunks = new ArrayList<HotPublisher.Chunk>();
+        var future = new CompletableFuture<Void>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(HotPublisher.Chunk item) {
+                chunks.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(null);
+            }
+        });
+        future.get(1, TimeUnit.MINUTES);
+        return chunks;
+    }
+
+    private static List<Word> words(String letters) {
+        var words = new ArrayList<Word>();
+        var n = letters.length();
+        for (int i = 0; i < Math.pow(n, 5); i++) {
+            var word = new StringBuilder();
+            for (int j = 0, rest = i; j < 5; j++, rest /= n) {
+                word.append(letters.charAt(rest % n));
+            }
+            words.add(new Word(word.toString()));
+        }
+        return words;
+    }
+}
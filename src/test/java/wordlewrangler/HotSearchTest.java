@@ -0,0 +1,101 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotSearchTest {
+
+    @Test
+    void exactSameAsHottest() {
+        var game = new Game(Word.fromFile("words.txt"));
+        for (Game tried : List.of(
+            game.tried("SLATE", "UUUUU"),
+            game.tried("SLATE", "UUPUF"),
+            game.tried("CRANE", "UUPUU"),
+            game.set("TAUNT").tryWord("SLATE")
+        )) {
+            var result = tried.hottestCandidates(Duration.ofMinutes(1));
+            assertThat(result.exact()).isTrue();
+            assertThat(result.hottest()).containsExactlyElementsOf(tried.hottestCandidates());
+        }
+    }
+
+    @Test
+    void abandonsBehind() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUUUU");
+        var result = game.hottestCandidates(Duration.ofMinutes(1));
+        assertThat(result.exact()).isTrue();
+        assertThat(result.ranking().size()).isLessThan(result.evaluated());
+        assertThat(result.total()).isEqualTo(game.candidates().size());
+    }
+
+    @Test
+    void resumes() {
+        var game = new Game(Word.fromFile("words.txt")).set("TAUNT").tryWord("CRONY");
+        var search = HotSearch.of(
+            game.dictionary(),
+            game.dictionary().ids(game.candidates()),
+            game.dictionary().id(new Word("TAUNT")),
+            game.letters()
+        );
+        var none = search.run(Duration.ZERO);
+        assertThat(none.evaluated()).isZero();
+        assertThat(none.exact()).isFalse();
+        assertThat(none.ranking()).isEmpty();
+
+        var previous = none;
+        while (!previous.exact()) {
+            var next = search.run(Duration.ofNanos(1));
+            assertThat(next.evaluated()).isGreaterThan(previous.evaluated());
+            assertThat(next.ranking().size()).isLessThanOrEqualTo(next.evaluated());
+            assertThat(next.hottest().getFirst().eliminated())
+                .isGreaterThanOrEqualTo(previous.ranking().isEmpty() ? 0 : previous.hottest().getFirst().eliminated());
+            previous = next;
+        }
+        assertThat(previous.progress()).isEqualTo(1d);
+        assertThat(previous.hottest()).containsExactlyElementsOf(game.hottestCandidates());
+        assertThat(search.run(Duration.ofMinutes(1))).isSameAs(search.latest());
+    }
+
+    @Test
+    void sharedByGame() {
+        var game = new Game(Word.fromFile("words.txt")).tried("CRANE", "UUUUU");
+        assertThat(game.hotSearch()).isSameAs(game.hotSearch());
+        assertThat(game.hotSearch()).isSameAs(new Game(Word.fromFile("words.txt")).tried("CRANE", "UUUUU").hotSearch());
+    }
+
+    @Test
+    void cancelsOnlyOwnRun() throws Exception {
+        var game = new Game(Word.fromFile("wordsish.txt")).tried("CRANE", "UUUUU");
+        var search = game.hotSearch();
+        assertThat(search.run(Duration.ofMinutes(1), () -> true).evaluated()).isZero();
+
+        var cancelled = new AtomicBoolean();
+        var other = Thread.ofVirtual().start(() -> search.run(Duration.ofMinutes(1), cancelled::get));
+        cancelled.set(true);
+        var result = game.hotSearch().run(Duration.ofMinutes(1));
+        other.join();
+        assertThat(result.exact()).isTrue();
+        assertThat(result.hottest()).containsExactlyElementsOf(game.hottestCandidates());
+    }
+
+    @Test
+    void stopsWhenInterrupted() {
+        var game = new Game(Word.fromFile("words.txt")).tried("CRANE", "UUUUU");
+        var search = game.hotSearch();
+        var before = search.latest().evaluated();
+        Thread.currentThread().interrupt();
+        try {
+            var result = search.run(Duration.ofMinutes(1));
+            assertThat(result.evaluated()).isEqualTo(before);
+        } finally {
+            Thread.interrupted();
+        }
+        assertThat(search.run(Duration.ofMinutes(1)).exact()).isTrue();
+    }
+}
@@ -0,0 +1,55 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LetterFrequenciesTest {
+
+    @Test
+    void countsLetters() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUPUF");
+        var letters = game.letters();
+        assertThat(letters.total()).isEqualTo(game.candidates().size()).isPositive();
+        assertThat(letters.count(4, 'E')).isEqualTo(letters.total());
+        assertThat(letters.count(2, 'A')).isZero();
+        assertThat(letters.present('A')).isEqualTo(letters.total());
+        assertThat(letters.present('S')).isZero();
+        assertThat(letters.score(4, 'E')).isEqualTo(1d);
+    }
+
+    @Test
+    void narrowsLikeCounting() {
+        var words = Word.fromFile("words.txt");
+        var game = new Game(words);
+        for (var next : new Game[] {
+            game.past(words.subList(0, 100)),
+            game.tried("SLATE", "UUUUU"),
+            game.tried("SLATE", "UUUUU").tried("CRONY", "UPUUU"),
+            game.tried("SLATE", "UUPUF"),
+            game.past(words.subList(0, 100)).tried("SLATE", "UUUUU").past(words.subList(100, 500))
+        }) {
+            assertThat(next.letters()).isEqualTo(LetterFrequencies.of(next.dictionary(), next.candidates()));
+        }
+    }
+
+    @Test
+    void scoresLikeDistributions() {
+        var game = new Game(Word.fromFile("words.txt")).tried("CRANE", "UUPUU");
+        var letters = game.letters();
+        var distributions = letters.distributions();
+        for (Word word : game.dictionary()) {
+            assertThat(letters.score(word)).isEqualTo(distributions.score(word));
+        }
+        for (int position = 0; position < game.unitaryLength(); position++) {
+            var i = position;
+            var counted = game.candidates().stream()
+                .collect(Collectors.groupingBy(word -> word.letter(i), Collectors.counting()));
+            assertThat(distributions.distributions().get(position).letterCounts().stream()
+                .collect(Collectors.toMap(LetterCount::c, count -> (long) count.count())))
+                .isEqualTo(counted);
+        }
+    }
+}
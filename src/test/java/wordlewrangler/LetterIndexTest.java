@@ -0,0 +1,101 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LetterIndexTest {
+
+    @Test
+    void sameAsGame() {
+        var game = new Game(Word.fromFile("words.txt"));
+        var dictionary = game.dictionary();
+        var all = WordSet.all(dictionary);
+        for (int g = 0; g < dictionary.size(); g += 61) {
+            var guess = dictionary.get(g);
+            for (int s = 0; s < dictionary.size(); s += 17) {
+                var solution = dictionary.get(s);
+                var pattern = Feedback.pattern(guess, solution);
+                var tried = game.tried(guess.toString(), Feedback.spec(pattern));
+                var compiled = CompiledConstraints.of(guess, pattern);
+                assertThat(dictionary.index().viable(all, compiled))
+                    .contains(solution)
+                    .containsExactlyElementsOf(tried.candidates());
+            }
+        }
+    }
+
+    @Test
+    void sameAsFeedback() {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        var all = WordSet.all(dictionary);
+        for (int g = 0; g < dictionary.size(); g += 97) {
+            var guess = dictionary.get(g);
+            for (int s = 0; s < dictionary.size(); s += 13) {
+                var pattern = Feedback.pattern(guess, dictionary.get(s));
+                var compiled = CompiledConstraints.of(guess, pattern);
+                assertThat(dictionary.index().viable(all, compiled))
+                    .containsExactlyElementsOf(dictionary.stream()
+                        .filter(word -> Feedback.pattern(guess, word) == pattern)
+                        .toList());
+            }
+        }
+    }
+
+    @Test
+    void noLooserThanConstraints() {
+        var game = new Game(Word.fromFile("words.txt"))
+            .tried("SLATE", "UUPUP")
+            .tried("AMBER", "PUUFU");
+        var constraints = game.constraints().toArray(Constraint[]::new);
+        var looser = game.dictionary().stream()
+            .filter(word -> viable(constraints, word))
+            .toList();
+        assertThat(looser).containsAll(game.candidates());
+        assertThat(game.candidates())
+            .allMatch(CompiledConstraints.of(new Word("SLATE"), Feedback.parse("UUPUP"))::matches)
+            .allMatch(CompiledConstraints.of(new Word("AMBER"), Feedback.parse("PUUFU"))::matches);
+    }
+
+    @Test
+    void yellowRequiresLetter() {
+        var dictionary = Dictionary.of(Word.words("FOOBA ROBOT TABOO BURNT"));
+        assertThat(dictionary.index().viable(
+            WordSet.all(dictionary),
+            CompiledConstraints.of(new Word("ZOOZZ"), Feedback.parse("UPPUU"))
+        )).containsExactly(new Word("TABOO"));
+        assertThat(dictionary.index().viable(
+            WordSet.all(dictionary),
+            CompiledConstraints.of(new Word("ZZZZR"), Feedback.parse("UUUUP"))
+        )).containsExactly(new Word("BURNT"), new Word("ROBOT"));
+    }
+
+    @Test
+    void greenWinsOverGrey() {
+        var compiled = CompiledConstraints.of(new Word("ABBEY"), Feedback.parse("FFUPU"));
+        assertThat(compiled.matches(new Word("ABASE"))).isTrue();
+        assertThat(compiled.matches(new Word("ABBES"))).isFalse();
+    }
+
+    @Test
+    void wordSet() {
+        var dictionary = Dictionary.of(Word.words("FOOBA ROBOT TABOO BURNT"));
+        var set = WordSet.of(dictionary, List.of(new Word("TABOO"), new Word("FOOBA")));
+        assertThat(set).containsExactly(new Word("FOOBA"), new Word("TABOO"));
+        assertThat(set.ids()).containsExactly(1, 3);
+        assertThat(set.contains(new Word("ROBOT"))).isFalse();
+        assertThat(set.without(List.of(new Word("FOOBA")))).containsExactly(new Word("TABOO"));
+        assertThat(WordSet.all(dictionary)).hasSize(4);
+    }
+
+    private static boolean viable(Constraint[] constraints, Word word) {
+        for (Constraint constraint : constraints) {
+            if (constraint.eliminates(word.letters())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
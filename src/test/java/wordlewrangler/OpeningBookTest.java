@@ -0,0 +1,51 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpeningBookTest {
+
+    @Test
+    void sameAsLive() {
+        var dictionary = Dictionary.of(Word.fromFile("words-expanded.txt"));
+        var book = OpeningBook.build(dictionary, new Word("SLATE"));
+        var game = new Game(dictionary);
+
+        assertThat(book.hottest(game)).containsExactlyElementsOf(live(game));
+        for (int solution = 0; solution < dictionary.size(); solution += 7) {
+            var pattern = Feedback.pattern(new Word("SLATE"), dictionary.get(solution));
+            var next = game.tried("SLATE", Feedback.spec(pattern));
+            assertThat(book.hottest(next)).containsExactlyElementsOf(live(next));
+            assertThat(book.replies(pattern)).isSameAs(book.hottest(next));
+            assertThat(book.hottest(next.tried("CRONY", "UUUUU"))).isNull();
+        }
+        assertThat(book.hottest(game.tried("CRANE", "UUUUU"))).isNull();
+        assertThat(book.hottest(game.set("TAUNT"))).isNull();
+    }
+
+    @Test
+    void savesAndLoads(@TempDir Path directory) throws IOException {
+        var dictionary = Dictionary.of(Word.fromFile("words-expanded.txt"));
+        var book = OpeningBook.build(dictionary);
+        var path = directory.resolve("book.bin");
+        book.save(path);
+
+        var loaded = OpeningBook.load(dictionary, path);
+        assertThat(loaded.opener()).isEqualTo(book.opener());
+        assertThat(loaded.openers()).containsExactlyElementsOf(book.openers());
+        for (int pattern = 0; pattern < Feedback.PATTERNS; pattern++) {
+            assertThat(loaded.replies(pattern)).containsExactlyElementsOf(book.replies(pattern));
+        }
+        assertThat(OpeningBook.load(Dictionary.of(Word.fromFile("words.txt")), path)).isNull();
+    }
+
+    private static List<WordElim> live(Game game) {
+        return Eliminations.average(game.dictionary(), game.dictionary().ids(game.candidates())).hottest();
+    }
+}
@@ -0,0 +1,68 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PartitionStatsTest {
+
+    @Test
+    void averageEliminated() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUPUF");
+        var candidates = game.candidates().stream().toList();
+        for (PartitionStats stats : game.partitions(PartitionStats.Metric.EXPECTED_REMAINING)) {
+            long eliminated = 0;
+            for (Word solution : candidates) {
+                var pattern = Feedback.pattern(stats.guess(), solution);
+                eliminated += candidates.stream()
+                    .filter(candidate -> Feedback.pattern(stats.guess(), candidate) != pattern)
+                    .count();
+            }
+            assertThat(stats.eliminated())
+                .isEqualTo(Math.toIntExact(Math.round(1d * eliminated / candidates.size())));
+        }
+    }
+
+    @Test
+    void buckets() {
+        var dictionary = Dictionary.of(Word.words("TAUNT DAUNT GAUNT HAUNT TAWNY"));
+        var ids = dictionary.ids(dictionary);
+        var guess = dictionary.id(new Word("TAUNT"));
+        var stats = PartitionStats.of(
+            dictionary.get(guess),
+            guess,
+            ids,
+            dictionary.matrix(),
+            new int[Feedback.PATTERNS]
+        );
+        // TAUNT is solved, TAWNY is its own bucket, the rest all give UFFFF
+        assertThat(stats.buckets()).isEqualTo(3);
+        assertThat(stats.largest()).isEqualTo(3);
+        assertThat(stats.singletons()).isEqualTo(2);
+        assertThat(stats.sumOfSquares()).isEqualTo(11L);
+        assertThat(stats.expectedRemaining()).isCloseTo(11d / 5, within(1e-9));
+        assertThat(stats.entropy()).isCloseTo(
+            -(2 * 0.2 * Math.log(0.2) + 0.6 * Math.log(0.6)) / Math.log(2),
+            within(1e-9)
+        );
+    }
+
+    @Test
+    void rankByMetric() {
+        var game = new Game(Word.fromFile("words.txt")).tried("SLATE", "UUPUF");
+        for (PartitionStats.Metric metric : PartitionStats.Metric.values()) {
+            var partitions = game.partitions(metric);
+            var best = metric.value(partitions.getFirst());
+            assertThat(game.hottestCandidates(metric))
+                .isNotEmpty()
+                .allMatch(elim ->
+                    partitions.stream()
+                        .filter(stats -> stats.guess().equals(elim.word()))
+                        .allMatch(stats -> metric.value(stats) == best));
+            var ratings = game.wordScores().ratings(metric);
+            assertThat(ratings.getFirst().getKey()).isEqualTo(best);
+        }
+    }
+}
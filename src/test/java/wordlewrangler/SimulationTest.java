@@ -0,0 +1,40 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulationTest {
+
+    @Test
+    void playsSample() {
+        var result = Simulation.of(Word.fromFile("words-expanded.txt")).seed(42).sample(50).run();
+        assertThat(result.games()).isEqualTo(50);
+        assertThat(Arrays.stream(result.histogram()).sum()).isEqualTo(50);
+        assertThat(result.histogram()[0]).isZero();
+        assertThat(result.moves()).hasSize((int) Math.round(result.averageGuesses() * 50));
+        assertThat(result.moveTime(50).compareTo(result.moveTime(100))).isLessThanOrEqualTo(0);
+        assertThat(result.failures()).isEqualTo(
+            Arrays.stream(result.histogram()).skip(7).sum());
+        System.out.println(result);
+    }
+
+    @Test
+    void repeatableForSeed() {
+        var simulation = Simulation.of(Word.fromFile("words-expanded.txt")).seed(7).sample(40);
+        try (var executor = Executors.newFixedThreadPool(3)) {
+            var first = simulation.executor(executor).run();
+            var second = simulation.run();
+            assertThat(second.histogram()).isEqualTo(first.histogram());
+        }
+    }
+
+    @Test
+    void strictFailures() {
+        var result = Simulation.of(Word.fromFile("words-expanded.txt")).sample(30).maxGuesses(1).run();
+        assertThat(result.failures()).isEqualTo(30 - result.histogram()[1]);
+    }
+}
@@ -0,0 +1,59 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolverCacheTest {
+
+    @Test
+    void sameStateHits() {
+        var game = new Game(Word.fromFile("words.txt"));
+        var before = SolverCache.shared().stats();
+        var first = game.tried("SLATE", "UUPUF").tried("CRONY", "UUUUU").hotCandidatesDescending();
+        var second = game.tried("CRONY", "UUUUU").tried("SLATE", "UUPUF").hotCandidatesDescending();
+        assertThat(second).isSameAs(first);
+        var after = SolverCache.shared().stats();
+        assertThat(after.hits() - before.hits()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void solutionMatters() {
+        var game = new Game(Word.fromFile("words.txt"));
+        var known = game.set("TAUNT").tryWord("SLATE");
+        var secret = game.tried("SLATE", Feedback.spec(Feedback.pattern(new Word("SLATE"), new Word("TAUNT"))));
+        assertThat(secret.candidates()).containsExactlyElementsOf(known.candidates());
+        assertThat(known.hotCandidatesDescending()).isNotSameAs(secret.hotCandidatesDescending());
+        assertThat(known).isNotSameAs(secret);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        var dictionary = Dictionary.of(Word.words("FOOBA ROBOT TABOO BURNT"));
+        var cache = SolverCache.of(4);
+        var all = SolverCache.key("q", WordSet.all(dictionary), -1);
+        var some = SolverCache.key("q", WordSet.of(dictionary, List.of(new Word("ROBOT"))), -1);
+        var other = SolverCache.key("r", WordSet.all(dictionary), -1);
+
+        assertThat(cache.get(all, () -> "all", _ -> 2)).isEqualTo("all");
+        assertThat(cache.get(some, () -> "some", _ -> 2)).isEqualTo("some");
+        assertThat(cache.get(all, () -> "again", _ -> 2)).isEqualTo("all");
+        assertThat(cache.get(other, () -> "other", _ -> 2)).isEqualTo("other");
+        assertThat(cache.get(some, () -> "recomputed", _ -> 2)).isEqualTo("recomputed");
+        assertThat(cache.get(other, () -> "again", _ -> 2)).isEqualTo("other");
+
+        assertThat(cache.stats()).isEqualTo(new SolverCache.Stats(2, 4, 2, 2, 4));
+    }
+
+    @Test
+    void tooHeavyIsNotCached() {
+        var dictionary = Dictionary.of(Word.words("FOOBA ROBOT TABOO BURNT"));
+        var cache = SolverCache.of(1);
+        var key = SolverCache.key("q", WordSet.all(dictionary), -1);
+        cache.get(key, () -> "heavy", _ -> 2);
+        assertThat(cache.get(key, () -> "again", _ -> 2)).isEqualTo("again");
+        assertThat(cache.stats().entries()).isZero();
+    }
+}
@@ -0,0 +1,65 @@
+package wordlewrangler;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolverEventsTest {
+
+    @Test
+    void countsWork() {
+        var game = new Game(Word.fromFile("words.txt")).set("TAUNT");
+        var before = SolverCounters.counts();
+        game.tryWord("CRONY").hotCandidatesDescending();
+        var counted = SolverCounters.counts().since(before);
+        assertThat(counted.evaluated()).isGreaterThanOrEqualTo(game.tryWord("CRONY").candidates().size());
+        assertThat(counted.feedback()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void recordsEvents() throws Exception {
+        var game = new Game(Word.fromFile("words.txt"));
+        var file = Files.createTempFile("solver", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable("wordlewrangler.Apply").withThreshold(Duration.ZERO);
+            recording.enable("wordlewrangler.Query").withThreshold(Duration.ZERO);
+            recording.start();
+            var tried = game.tried("SLATE", "UUPUF").tried("CRONY", "UUUUU");
+            tried.hotCandidatesDescending();
+            tried.hotCandidatesDescending();
+            tried.distribution();
+            tried.distribution();
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            var applied = events.stream()
+                .filter(event -> event.getEventType().getName().equals("wordlewrangler.Apply"))
+                .toList();
+            assertThat(applied).hasSize(2);
+            assertThat(applied.getFirst().getString("guess")).isEqualTo("SLATE");
+            assertThat(applied.getFirst().getString("feedback")).isEqualTo("UUPUF");
+            assertThat(applied.getFirst().getInt("candidatesBefore")).isEqualTo(game.candidates().size());
+            assertThat(applied.getLast().getInt("candidates")).isEqualTo(tried.candidates().size());
+            assertThat(applied.getLast().getInt("guesses")).isEqualTo(2);
+
+            var queries = events.stream()
+                .filter(event -> event.getEventType().getName().equals("wordlewrangler.Query"))
+                .toList();
+            assertThat(queries.stream().map(event -> event.getString("query")).toList())
+                .containsExactly("DESCENDING", "DESCENDING", "DISTRIBUTION", "DISTRIBUTION");
+            assertThat(queries.get(1).getBoolean("cached")).isTrue();
+            assertThat(queries.get(3).getBoolean("cached")).isTrue();
+            assertThat(queries.get(1).getInt("results")).isEqualTo(tried.candidates().size());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
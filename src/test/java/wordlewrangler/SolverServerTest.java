@@ -0,0 +1,147 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolverServerTest {
+
+    @Test
+    void playsSecretGame() throws Exception {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        try (
+            var server = SolverServer.start(dictionary, new InetSocketAddress("localhost", 0), 2, 8);
+            var client = HttpClient.newHttpClient()
+        ) {
+            var base = "http://localhost:" + server.address().getPort() + "/games";
+            var created = send(client, "POST", base);
+            assertThat(created.statusCode()).isEqualTo(201);
+            var id = field(created.body(), "id");
+            assertThat(server.sessions()).isEqualTo(1);
+
+            var tried = send(client, "POST", base + "/" + id + "/tried?guess=SLATE&spec=UUPUF");
+            assertThat(tried.statusCode()).isEqualTo(200);
+            var expected = new Game(dictionary).tried("SLATE", "UUPUF");
+            assertThat(tried.body()).contains("\"candidates\":" + expected.candidates().size());
+            assertThat(send(client, "GET", base + "/" + id).body()).isEqualTo(tried.body());
+
+            var hottest = send(client, "GET", base + "/" + id + "/hottest?limit=1");
+            assertThat(hottest.statusCode()).isEqualTo(200);
+            assertThat(field(hottest.body(), "word"))
+                .isEqualTo(expected.hottestCandidates().getFirst().word().toString());
+            var scores = send(client, "GET", base + "/" + id + "/scores?limit=3");
+            assertThat(scores.statusCode()).isEqualTo(200);
+            assertThat(scores.body()).contains("\"rating\":");
+            var stats = send(client, "GET", "http://localhost:" + server.address().getPort() + "/stats");
+            assertThat(stats.statusCode()).isEqualTo(200);
+            assertThat(stats.body()).startsWith("{\"sessions\":1,\"evaluated\":").contains("\"cache\":{\"hits\":");
+
+            assertThat(send(client, "POST", base + "/" + id + "/tried?guess=SLATE&spec=XXXXX").statusCode())
+                .isEqualTo(400);
+            assertThat(send(client, "POST", base + "/" + id + "/tried?guess=CRONY").statusCode()).isEqualTo(400);
+            assertThat(send(client, "DELETE", base + "/" + id).statusCode()).isEqualTo(200);
+            assertThat(send(client, "GET", base + "/" + id).statusCode()).isEqualTo(404);
+            assertThat(server.sessions()).isZero();
+        }
+    }
+
+    @Test
+    void playsKnownGame() throws Exception {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        try (
+            var server = SolverServer.start(dictionary, new InetSocketAddress("localhost", 0), 1, 1);
+            var client = HttpClient.newHttpClient()
+        ) {
+            var base = "http://localhost:" + server.address().getPort() + "/games";
+            var id = field(send(client, "POST", base + "?solution=TAUNT").body(), "id");
+            assertThat(send(client, "POST", base + "/" + id + "/tried?guess=SLATE").body())
+                .contains("\"feedback\":[\"" +
+                          Feedback.spec(Feedback.pattern(new Word("SLATE"), new Word("TAUNT"))) + "\"]");
+            assertThat(send(client, "POST", base + "/" + id + "/tried?guess=TAUNT").body()).contains("\"done\":true");
+        }
+    }
+
+    @Test
+    void limitsSessions() throws Exception {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        try (
+            var server = SolverServer.start(
+                dictionary, new InetSocketAddress("localhost", 0), 1, 1, 1, Duration.ofHours(1));
+            var client = HttpClient.newHttpClient()
+        ) {
+            var base = "http://localhost:" + server.address().getPort() + "/games";
+            var id = field(send(client, "POST", base).body(), "id");
+            assertThat(send(client, "POST", base).statusCode()).isEqualTo(503);
+            assertThat(send(client, "DELETE", base + "/" + id).statusCode()).isEqualTo(200);
+            assertThat(send(client, "POST", base).statusCode()).isEqualTo(201);
+        }
+    }
+
+    @Test
+    void limitsConcurrentSessions() throws Exception {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        try (
+            var server = SolverServer.start(
+                dictionary, new InetSocketAddress("localhost", 0), 1, 1, 4, Duration.ofHours(1));
+            var client = HttpClient.newHttpClient()
+        ) {
+            var base = URI.create("http://localhost:" + server.address().getPort() + "/games");
+            var request = HttpRequest.newBuilder(base)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+            var responses = IntStream.range(0, 32)
+                .mapToObj(_ -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .toList();
+            var statuses = responses.stream()
+                .map(response -> response.join().statusCode())
+                .collect(Collectors.groupingBy(status -> status, Collectors.counting()));
+            assertThat(statuses).isEqualTo(Map.of(201, 4L, 503, 28L));
+            assertThat(server.sessions()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void expiresSessions() throws Exception {
+        var dictionary = Dictionary.of(Word.fromFile("words.txt"));
+        try (
+            var server = SolverServer.start(
+                dictionary, new InetSocketAddress("localhost", 0), 1, 1, 1, Duration.ofMillis(1));
+            var client = HttpClient.newHttpClient()
+        ) {
+            var base = "http://localhost:" + server.address().getPort() + "/games";
+            var first = field(send(client, "POST", base).body(), "id");
+            Thread.sleep(10);
+            var second = send(client, "POST", base);
+            assertThat(second.statusCode()).isEqualTo(201);
+            assertThat(server.sessions()).isEqualTo(1);
+            Thread.sleep(10);
+            assertThat(send(client, "GET", base + "/" + first).statusCode()).isEqualTo(404);
+            assertThat(send(client, "GET", base + "/" + field(second.body(), "id")).statusCode()).isEqualTo(404);
+            assertThat(server.sessions()).isZero();
+        }
+    }
+
+    private static HttpResponse<String> send(HttpClient client, String method, String uri) throws Exception {
+        return client.send(
+            HttpRequest.newBuilder(URI.create(uri)).method(method, HttpRequest.BodyPublishers.noBody()).build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+    }
+
+    private static String field(String json, String name) {
+        var matcher = Pattern.compile("\"" + name + "\":\"([^\"]*)\"").matcher(json);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+}
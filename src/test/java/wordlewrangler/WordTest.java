@@ -0,0 +1,108 @@
+package wordlewrangler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WordTest {
+
+    @Test
+    void ordersLikeStrings() {
+        var words = Word.fromFile("words.txt");
+        var strings = words.stream().map(Word::toString).toList();
+        assertThat(words.stream().sorted().map(Word::toString).toList())
+            .containsExactlyElementsOf(strings.stream().sorted().toList());
+        assertThat(new Word("ÆRØÅS").compareTo(new Word("ZEBRA"))).isPositive();
+    }
+
+    @Test
+    void packed() {
+        var word = new Word("slate");
+        assertThat(word).isEqualTo(new Word("SLATE".toCharArray()))
+            .isEqualTo(new Word(word.packed()));
+        assertThat(word.hashCode()).isEqualTo(new Word("SLATE").hashCode());
+        assertThat(word.toString()).isEqualTo("SLATE");
+        assertThat(word.letter(1)).isEqualTo('L');
+        assertThat(word.code(4)).isEqualTo('E' - 'A');
+        assertThat(word.contains('T')).isTrue();
+        assertThat(word.contains('X')).isFalse();
+    }
+
+    @Test
+    void lengths() {
+        for (String string : List.of("A", "QI", "ZEBRAS", "WRANGLERS", "ABCDEFGHIJKL")) {
+            var word = new Word(string);
+            assertThat(word.length()).isEqualTo(string.length());
+            assertThat(word.toString()).isEqualTo(string);
+            assertThat(new Word(word.packed())).isEqualTo(word);
+        }
+        var strings = List.of("AB", "ABA", "ABB", "AC", "ÜB", "ZZZZZZZZZZZZ", "A", "B");
+        assertThat(strings.stream().map(Word::new).sorted().map(Word::toString).toList())
+            .containsExactlyElementsOf(strings.stream().sorted().toList());
+        assertThat(Word.words(Stream.of("slate crane slates cranes"), 6).map(Word::toString).toList())
+            .containsExactly("CRANES", "SLATES");
+        assertThatThrownBy(() -> Dictionary.of(Word.words("SLATE CRANES"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> new Word("SLATESLATESLA")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Word("SL4TE")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Word(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(Word.words(Stream.of("slate crane", "éclat sl4te crane"), true).map(Word::toString).toList())
+            .containsExactly("CRANE", "SLATE");
+    }
+
+    @Test
+    void loadsLikeStreams() throws IOException {
+        for (String file : List.of("words.txt", "wordsish.txt", "words-expanded.txt", "past.txt")) {
+            var path = Path.of(file);
+            assertThat(Word.fromFile(path)).containsExactlyElementsOf(streamed(path, false));
+            assertThat(Word.fromFile(path, true)).containsExactlyElementsOf(streamed(path, true));
+        }
+    }
+
+    @Test
+    void loadsBytes(@TempDir Path directory) throws IOException {
+        var path = directory.resolve("words.txt");
+        Files.writeString(path, "slate  Crane\r\nÆRØÅS ærøås\tqi slate\n\n  sl4te", StandardCharsets.UTF_8);
+        assertThat(Word.fromFile(path, true).stream().map(Word::toString).toList())
+            .containsExactly("SLATE", "CLASP", "CRANE", "SLATE", "ÆRØÅS");
+        assertThat(Word.fromFile(path, 2)).containsExactly(new Word("QI"));
+        assertThatThrownBy(() -> Word.fromFile(path)).isInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("Not a word of 1-12 supported letters: sl4te");
+
+        Files.writeString(path, "straße éclat crane", StandardCharsets.UTF_8);
+        assertThat(Word.fromFile(path, 7)).containsExactly(new Word("STRASSE"));
+        assertThat(Word.fromFile(path, 5)).containsExactly(new Word("CRANE"));
+    }
+
+    @Test
+    void loadsBinary(@TempDir Path directory) throws IOException {
+        var path = directory.resolve("words.bin");
+        Word.toBinary(Path.of("words.txt"), path);
+        assertThat(Word.fromBinary(path)).containsExactlyElementsOf(Word.fromFile("words.txt"));
+
+        var bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+        assertThatThrownBy(() -> Word.fromBinary(path)).hasMessageStartingWith("Checksum mismatch");
+        assertThatThrownBy(() -> Word.fromBinary(Path.of("words.txt"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<Word> streamed(Path path, boolean filter) throws IOException {
+        try (var lines = Files.lines(path)) {
+            return Stream.concat(Stream.of(new Word("SLATE"), new Word("CLASP")), Word.words(lines, filter)).toList();
+        }
+    }
+}